@@ -0,0 +1,312 @@
+package youPackage.structure;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static de.tum.cit.fop.structure.ClassMetadata.*;
+import static de.tum.cit.fop.structure.StructureParser.*;
+import static de.tum.cit.fop.structure.StructureReport.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.2 (16.10.2026)
+ * <br><br>
+ * JMH benchmarks of the structure file parsing, the member checks of {@link StructureChecker}, the verification done
+ * by the structure test factories and the getter/setter test generation. The structure file and the matching
+ * submission are generated by {@link SyntheticProject}, the number of classes is set by the "classCount" parameter.
+ * <p></p>
+ * Usage: {@code java youPackage.structure.StructureBenchmark [JMH options]}, the GC profiler is always added to
+ * report the allocation rate next to the time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StructureBenchmark {
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder().parent(new CommandLineOptions(args))
+                                       .include(StructureBenchmark.class.getName())
+                                       .addProfiler(GCProfiler.class)
+                                       .build()).run();
+    }
+
+    /**
+     * Parses the structure file like {@link StructureParser#retrieveStructureFromJSON()} does without the binary
+     * cache.
+     */
+    @Benchmark
+    public List<JSONClass> parseStructureFile(SpecState state) throws IOException, ClassNotFoundException {
+        return StructureStreamParser.parse(state.jsonFile);
+    }
+
+    /**
+     * Loads the structure file like {@link StructureParser#retrieveStructureFromJSON()} does with a valid binary
+     * cache.
+     */
+    @Benchmark
+    public List<JSONClass> loadCachedStructureFile(SpecState state) throws IOException, ClassNotFoundException {
+        return StructureSpecCache.loadOrCompile(state.jsonFile);
+    }
+
+    @Benchmark
+    public void attributeCheck(SpecState state, Blackhole blackhole) {
+        for (CheckPair<JSONAttribute> pair : state.attributes) {
+            blackhole.consume(StructureChecker.attributeCheck(pair.target, pair.expected));
+        }
+    }
+
+    @Benchmark
+    public void constructorsCheck(SpecState state, Blackhole blackhole) {
+        for (CheckPair<JSONConstructor> pair : state.constructors) {
+            blackhole.consume(StructureChecker.constructorsCheck(pair.target, pair.expected));
+        }
+    }
+
+    @Benchmark
+    public void methodCheck(SpecState state, Blackhole blackhole) {
+        for (CheckPair<JSONMethod> pair : state.methods) {
+            blackhole.consume(StructureChecker.methodCheck(pair.target, pair.expected));
+        }
+    }
+
+    /**
+     * Verifies every class and collects the mismatches of every category, as the four structure test factories do.
+     * The introspection cache is warm.
+     */
+    @Benchmark
+    public void structureTestFactories(SpecState state, Blackhole blackhole) {
+        for (JSONClass cl : state.classes) {
+            consumeMismatches(StructureVerifier.verify(cl, state.project.loader), blackhole);
+        }
+    }
+
+    /**
+     * Same as {@link #structureTestFactories(SpecState, Blackhole)}, but the introspection cache is cleared first, as
+     * in the first run of a submission.
+     */
+    @Benchmark
+    public void structureTestFactoriesColdMetadata(SpecState state, Blackhole blackhole) {
+        ClassMetadata.evict(state.project.loader);
+        TypeHierarchy.evict(state.project.loader);
+        structureTestFactories(state, blackhole);
+    }
+
+    /**
+     * Same as {@link #structureTestFactories(SpecState, Blackhole)} with the bytecode backend.
+     */
+    @Benchmark
+    public void structureTestFactoriesBytecode(SpecState state, Blackhole blackhole) {
+        for (JSONClass cl : state.classes) {
+            consumeMismatches(BytecodeStructureVerifier.verify(cl, state.project.loader), blackhole);
+        }
+    }
+
+    private static void consumeMismatches(StructureReport report, Blackhole blackhole) {
+        for (Category category : Category.values()) {
+            blackhole.consume(report.mismatches(category));
+        }
+    }
+
+    @Benchmark
+    public void getterTests(AccessorState state) throws Throwable {
+        for (DynamicTest test : GetterSetterTestAssembler.generateGetterTests(state.className, null, null,
+                                                                              state.getterValues)) {
+            test.getExecutable().execute();
+        }
+    }
+
+    @Benchmark
+    public void setterTests(AccessorState state) throws Throwable {
+        for (DynamicTest test : GetterSetterTestAssembler.generateSetterTests(state.className, null, null,
+                                                                              state.setterValues, null)) {
+            test.getExecutable().execute();
+        }
+    }
+
+    /**
+     * Generated project together with the pairs of target and expected members for the member checks.
+     */
+    @State(Scope.Benchmark)
+    public static class SpecState {
+        private static final int MEMBER_COUNT = 20;
+
+        @Param({"10", "100", "1000"})
+        public int classCount;
+
+        SyntheticProject project;
+        Path jsonFile;
+        List<JSONClass> classes;
+        final List<CheckPair<JSONAttribute>> attributes = new ArrayList<>();
+        final List<CheckPair<JSONConstructor>> constructors = new ArrayList<>();
+        final List<CheckPair<JSONMethod>> methods = new ArrayList<>();
+
+        @Setup
+        public void setUp() throws IOException, ClassNotFoundException {
+            project = SyntheticProject.generate(classCount, MEMBER_COUNT, false);
+            // The parsing benchmarks read the structure file like the structure tests do.
+            jsonFile = Files.createTempFile("structure-benchmark", ".json");
+            Files.writeString(jsonFile, project.structure);
+            StructureSpecCache.compile(jsonFile);
+            classes = project.classes();
+
+            for (JSONClass cl : classes) {
+                ClassMetadata target = ClassMetadata.forName(cl.packageName + "." + cl.name, project.loader);
+                Map<String, MemberMetadata> fields = target.fields().stream()
+                                                           .collect(Collectors.toMap(field -> field.name,
+                                                                                     field -> field));
+                Map<String, MemberMetadata> targetMethods = target.methods().stream()
+                                                                  .collect(Collectors.toMap(method -> method.name,
+                                                                                            method -> method));
+                Map<Integer, MemberMetadata> targetConstructors =
+                        target.constructors().stream()
+                              .collect(Collectors.toMap(constructor -> constructor.parameterCount,
+                                                        constructor -> constructor));
+                cl.attributes.forEach(attribute -> attributes.add(
+                        new CheckPair<>(fields.get(attribute.name), attribute)));
+                cl.methods.forEach(method -> methods.add(new CheckPair<>(targetMethods.get(method.name), method)));
+                cl.constructors.forEach(constructor -> constructors.add(
+                        new CheckPair<>(targetConstructors.get(constructor.parametersTypes.size()), constructor)));
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(StructureSpecCache.cacheFileFor(jsonFile));
+            Files.deleteIfExists(jsonFile);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class AccessorState {
+        final String className = Bean.class.getName();
+        final Map<String, Object> getterValues = new LinkedHashMap<>();
+        final Map<String, Object> setterValues = new LinkedHashMap<>();
+
+        @Setup
+        public void setUp() {
+            Bean bean = new Bean();
+            getterValues.put("getName", bean.getName());
+            getterValues.put("getAge", bean.getAge());
+            getterValues.put("getId", bean.getId());
+            getterValues.put("getBalance", bean.getBalance());
+            getterValues.put("getRating", bean.getRating());
+            getterValues.put("getInitial", bean.getInitial());
+            getterValues.put("isActive", bean.isActive());
+            getterValues.put("getTags", bean.getTags());
+            setterValues.put("setName", "Ada");
+            setterValues.put("setAge", 36);
+            setterValues.put("setId", 1815L);
+            setterValues.put("setBalance", 12.5);
+            setterValues.put("setRating", 4.5f);
+            setterValues.put("setInitial", 'A');
+            setterValues.put("setActive", false);
+            setterValues.put("setTags", List.of("analytical", "engine"));
+        }
+    }
+
+    /**
+     * Target class of the getter/setter benchmarks.
+     */
+    public static class Bean {
+        private String name = "Charles";
+        private int age = 42;
+        private long id = 7L;
+        private double balance = 100.0;
+        private float rating = 3.5f;
+        private char initial = 'C';
+        private boolean active = true;
+        private List<String> tags = List.of("difference", "engine");
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public double getBalance() {
+            return balance;
+        }
+
+        public void setBalance(double balance) {
+            this.balance = balance;
+        }
+
+        public float getRating() {
+            return rating;
+        }
+
+        public void setRating(float rating) {
+            this.rating = rating;
+        }
+
+        public char getInitial() {
+            return initial;
+        }
+
+        public void setInitial(char initial) {
+            this.initial = initial;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+
+    static class CheckPair<E> {
+        final MemberMetadata target;
+        final E expected;
+
+        CheckPair(MemberMetadata target, E expected) {
+            this.target = target;
+            this.expected = expected;
+        }
+    }
+}
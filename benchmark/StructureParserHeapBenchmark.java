@@ -0,0 +1,99 @@
+package youPackage.structure;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static de.tum.cit.fop.structure.StructureParser.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.0 (16.10.2026)
+ * <br><br>
+ * Compares the peak heap usage of the DOM based parsing ({@link StructureParser#parseStructure(String)}) with the
+ * streaming parsing ({@link StructureStreamParser#parse(Path)}) of a generated structure file.
+ * <p></p>
+ * Usage: {@code java -Xmx512m youPackage.structure.StructureParserHeapBenchmark [classes] [membersPerClass]}
+ */
+class StructureParserHeapBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int classCount = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int memberCount = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        Path jsonFile = Files.createTempFile("structure-benchmark", ".json");
+        try {
+            Files.writeString(jsonFile, generateStructure(classCount, memberCount));
+            System.out.printf("Structure file: %d classes, %d members per class, %d KiB%n", classCount, memberCount,
+                              Files.size(jsonFile) / 1024);
+
+            // Warm up both paths, so class loading and JIT do not distort the first measurement.
+            parseStructure(Files.readString(jsonFile));
+            StructureStreamParser.parse(jsonFile);
+
+            long domPeak = 0;
+            long streamingPeak = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                domPeak = Math.max(domPeak, measurePeakHeap(() -> parseStructure(Files.readString(jsonFile))));
+                streamingPeak = Math.max(streamingPeak, measurePeakHeap(() -> StructureStreamParser.parse(jsonFile)));
+            }
+            System.out.printf("DOM parser peak heap:       %,d KiB%n", domPeak / 1024);
+            System.out.printf("Streaming parser peak heap: %,d KiB%n", streamingPeak / 1024);
+        } finally {
+            Files.deleteIfExists(jsonFile);
+        }
+    }
+
+    /**
+     * Measures the peak heap usage above the baseline while the parser is running, the parsed structure is retained
+     * until the measurement is finished for both parsers.
+     */
+    private static long measurePeakHeap(Parser parser) throws Exception {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                                                            .filter(pool -> pool.getType() == MemoryType.HEAP)
+                                                            .toList();
+        System.gc();
+        long baseline = heapPools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        List<JSONClass> classes = parser.parse();
+
+        long peak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        if (classes.isEmpty()) {
+            throw new IllegalStateException("The structure file was not parsed.");
+        }
+        return peak - baseline;
+    }
+
+    private static String generateStructure(int classCount, int memberCount) {
+        StringBuilder json = new StringBuilder("[");
+        for (int c = 0; c < classCount; c++) {
+            json.append(c == 0 ? "" : ",")
+                .append("{\"class\":{\"name\":\"Class").append(c)
+                .append("\",\"package\":\"benchmark\",\"isInterface\":false,\"isEnum\":false,\"isAbstract\":false},")
+                .append("\"attributes\":[");
+            for (int m = 0; m < memberCount; m++) {
+                json.append(m == 0 ? "" : ",")
+                    .append("{\"name\":\"attribute").append(m)
+                    .append("\",\"type\":\"List<String>\",\"modifiers\":[\"private\"],\"annotations\":[]}");
+            }
+            json.append("],\"methods\":[");
+            for (int m = 0; m < memberCount; m++) {
+                json.append(m == 0 ? "" : ",")
+                    .append("{\"name\":\"method").append(m)
+                    .append("\",\"modifiers\":[\"public\"],\"parameters\":[\"int\",\"String\"],\"returnType\":\"void\"}");
+            }
+            json.append("],\"constructors\":[{\"modifiers\":[\"public\"],\"parameters\":[\"int\"]}]}");
+        }
+        return json.append("]").toString();
+    }
+
+    @FunctionalInterface
+    private interface Parser {
+        List<JSONClass> parse() throws IOException, ClassNotFoundException;
+    }
+}
@@ -0,0 +1,366 @@
+package youPackage.structure;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static de.tum.cit.fop.structure.StructureParser.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.0 (16.10.2026)
+ * <br><br>
+ * Generates a structure file with the given number of classes and members per class together with a submission that
+ * implements it. The submission is compiled in memory and loaded by its own class loader, which also serves the class
+ * files to the bytecode backend, so nothing is written to disk.
+ * <p></p>
+ * The classes cycle through enums, interfaces, abstract classes, plain classes and subclasses, the members use
+ * primitive, generic and project types, static and final modifiers and a runtime annotation. A mismatching submission
+ * renames an attribute and a method and drops a constructor of every fourth class and omits every 25th class.
+ * <p></p>
+ * Usage: {@code java youPackage.structure.SyntheticProject [classes] [membersPerClass] [--mismatching]}
+ */
+class SyntheticProject {
+    protected static final String PACKAGE = "synthetic";
+    private static final String ANNOTATION = "Tracked";
+    private static final String[] FIELD_TYPES = {"int", "String", "java.util.List<String>",
+                                                 "java.util.Map<String, Integer>"};
+    private static final String[] EXPECTED_FIELD_TYPES = {"int", "String", "java.util.List<java.lang.String>",
+                                                          "Map"};
+    private static final String[] RETURN_TYPES = {"void", "int", "String", "java.util.List<String>"};
+    private static final String[] EXPECTED_RETURN_TYPES = {"void", "int", "String", "List"};
+    private static final String[] RETURN_VALUES = {"", "0", "\"\"", "java.util.List.of()"};
+    // Primitive parameter types are left out, they are counted twice by the parameter check.
+    private static final String[][] PARAMETERS = {{}, {"String a"}, {"String a", "java.util.List<String> b"}};
+    private static final String[][] EXPECTED_PARAMETERS = {{}, {"String"}, {"String", "List"}};
+
+    final String structure;
+    final ClassLoader loader;
+
+    private SyntheticProject(String structure, ClassLoader loader) {
+        this.structure = structure;
+        this.loader = loader;
+    }
+
+    public static void main(String[] args) throws ClassNotFoundException {
+        int classCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int memberCount = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        boolean mismatching = args.length > 2 && args[2].equals("--mismatching");
+
+        long start = System.nanoTime();
+        SyntheticProject project = generate(classCount, memberCount, mismatching);
+        List<JSONClass> classes = project.classes();
+        System.out.printf("Generated and compiled %d classes with %d members in %d ms%n", classCount, memberCount,
+                          (System.nanoTime() - start) / 1_000_000);
+
+        for (boolean bytecodeBackend : new boolean[]{false, true}) {
+            start = System.nanoTime();
+            long mismatches = 0;
+            for (JSONClass cl : classes) {
+                StructureReport report = bytecodeBackend ? BytecodeStructureVerifier.verify(cl, project.loader)
+                                                         : StructureVerifier.verify(cl, project.loader);
+                mismatches += report.mismatches.size();
+            }
+            System.out.printf("%s backend: %d mismatches in %d ms%n", bytecodeBackend ? "Bytecode" : "Reflection",
+                              mismatches, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Generates the structure file and compiles the submission.
+     *
+     * @param classCount  Number of expected classes.
+     * @param memberCount Number of attributes and methods per class.
+     * @param mismatching Whether the submission deviates from the structure file.
+     * @return The generated project.
+     * @throws IllegalStateException thrown if no Java compiler is available or the submission does not compile.
+     */
+    protected static SyntheticProject generate(int classCount, int memberCount, boolean mismatching) {
+        StringBuilder structure = new StringBuilder("[");
+        Map<String, String> sources = new HashMap<>();
+        sources.put(ANNOTATION, "package " + PACKAGE + ";\n" +
+                                "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n" +
+                                "public @interface " + ANNOTATION + " {}\n");
+        for (int i = 0; i < classCount; i++) {
+            ClassKind kind = ClassKind.of(i);
+            boolean deviates = mismatching && i % 4 == 0;
+            structure.append(i == 0 ? "" : ",").append(expectedClass(i, kind, memberCount));
+            if (!mismatching || i % 25 != 24) {
+                sources.put(className(i), source(i, kind, memberCount, deviates));
+            }
+        }
+        return new SyntheticProject(structure.append("]").toString(), compile(sources));
+    }
+
+    /**
+     * Parses the structure file of the project.
+     */
+    protected List<JSONClass> classes() throws ClassNotFoundException {
+        return parseStructure(structure);
+    }
+
+    private static String className(int index) {
+        return "Type" + index;
+    }
+
+    private enum ClassKind {
+        ENUM, INTERFACE, ABSTRACT_CLASS, CLASS, SUBCLASS;
+
+        static ClassKind of(int index) {
+            return switch (index % 10) {
+                case 0 -> ENUM;
+                case 5 -> INTERFACE;
+                case 7 -> ABSTRACT_CLASS;
+                // Extends the class generated before, which is a plain class or a subclass itself.
+                case 2, 3 -> SUBCLASS;
+                default -> CLASS;
+            };
+        }
+    }
+
+    private static String expectedClass(int index, ClassKind kind, int memberCount) {
+        StringBuilder json = new StringBuilder("{\"class\":{\"name\":\"").append(className(index))
+                .append("\",\"package\":\"").append(PACKAGE)
+                .append("\",\"isInterface\":").append(kind == ClassKind.INTERFACE)
+                .append(",\"isEnum\":").append(kind == ClassKind.ENUM)
+                .append(",\"isAbstract\":").append(kind == ClassKind.ABSTRACT_CLASS);
+        if (kind == ClassKind.ENUM) {
+            json.append(",\"superclass\":\"Enum\"},\"enumValues\":[\"FIRST\",\"SECOND\",\"THIRD\"]");
+        } else if (kind == ClassKind.SUBCLASS) {
+            json.append(",\"superclass\":\"").append(className(index - 1)).append("\"}");
+        } else {
+            json.append("}");
+        }
+
+        json.append(",\"attributes\":[");
+        for (int j = 0; j < memberCount; j++) {
+            json.append(j == 0 ? "" : ",")
+                .append("{\"name\":\"").append(attributeName(j))
+                .append("\",\"type\":\"").append(EXPECTED_FIELD_TYPES[j % FIELD_TYPES.length])
+                .append("\",\"modifiers\":").append(jsonArray(attributeModifiers(kind, j)))
+                .append(",\"annotations\":").append(jsonArray(j % 4 == 0 ? List.of(ANNOTATION) : List.of()))
+                .append("}");
+        }
+        json.append("],\"methods\":[");
+        for (int j = 0; j < memberCount; j++) {
+            json.append(j == 0 ? "" : ",")
+                .append("{\"name\":\"").append(methodName(j))
+                .append("\",\"returnType\":\"").append(EXPECTED_RETURN_TYPES[j % RETURN_TYPES.length])
+                .append("\",\"modifiers\":").append(jsonArray(methodModifiers(kind, j)))
+                .append(",\"parameters\":").append(jsonArray(List.of(EXPECTED_PARAMETERS[j % PARAMETERS.length])))
+                .append(",\"annotations\":").append(jsonArray(j % 4 == 1 ? List.of(ANNOTATION) : List.of()))
+                .append("}");
+        }
+        json.append("]");
+        // Interfaces have no constructors and the constructors of enums have synthetic parameters.
+        if (kind != ClassKind.INTERFACE && kind != ClassKind.ENUM) {
+            json.append(",\"constructors\":[{\"modifiers\":[\"public\"],\"parameters\":[]},")
+                .append("{\"modifiers\":[\"public\"],\"parameters\":[\"String\",\"Integer\"],")
+                .append("\"annotations\":[\"").append(ANNOTATION).append("\"]}]");
+        }
+        return json.append("}").toString();
+    }
+
+    private static String source(int index, ClassKind kind, int memberCount, boolean deviates) {
+        String name = className(index);
+        StringBuilder source = new StringBuilder("package ").append(PACKAGE).append(";\n\npublic ");
+        source.append(switch (kind) {
+            case ENUM -> "enum " + name + " {\n    FIRST, SECOND, THIRD;\n";
+            case INTERFACE -> "interface " + name + " {\n";
+            case ABSTRACT_CLASS -> "abstract class " + name + " {\n";
+            case CLASS -> "class " + name + " {\n";
+            case SUBCLASS -> "class " + name + " extends " + className(index - 1) + " {\n";
+        });
+
+        for (int j = 0; j < memberCount; j++) {
+            String type = FIELD_TYPES[j % FIELD_TYPES.length];
+            source.append(j % 4 == 0 ? "    @" + ANNOTATION + "\n" : "")
+                  .append("    ").append(String.join(" ", attributeModifiers(kind, j))).append(" ").append(type)
+                  .append(" ").append(attributeName(j)).append(deviates && j == 0 ? "Renamed" : "")
+                  .append(" = ").append(initialValue(type)).append(";\n");
+        }
+        for (int j = 0; j < memberCount; j++) {
+            List<String> modifiers = methodModifiers(kind, j);
+            // Interface methods are implicitly public and abstract.
+            String declaredModifiers = kind == ClassKind.INTERFACE ? "" : String.join(" ", modifiers) + " ";
+            source.append(j % 4 == 1 ? "    @" + ANNOTATION + "\n" : "")
+                  .append("    ").append(declaredModifiers).append(RETURN_TYPES[j % RETURN_TYPES.length])
+                  .append(" ").append(methodName(j)).append(deviates && j == 0 ? "Renamed" : "")
+                  .append("(").append(String.join(", ", PARAMETERS[j % PARAMETERS.length])).append(")");
+            if (modifiers.contains("abstract")) {
+                source.append(";\n");
+            } else {
+                String returnValue = RETURN_VALUES[j % RETURN_TYPES.length];
+                source.append(" {\n        return").append(returnValue.isEmpty() ? "" : " " + returnValue)
+                      .append(";\n    }\n");
+            }
+        }
+        if (kind != ClassKind.INTERFACE && kind != ClassKind.ENUM) {
+            source.append("    public ").append(name).append("() {\n    }\n");
+            if (!deviates) {
+                source.append("    @").append(ANNOTATION).append("\n    public ").append(name)
+                      .append("(String name, Integer size) {\n    }\n");
+            }
+        }
+        return source.append("}\n").toString();
+    }
+
+    private static String attributeName(int index) {
+        return "attribute" + index;
+    }
+
+    private static String methodName(int index) {
+        return "method" + index;
+    }
+
+    private static List<String> attributeModifiers(ClassKind kind, int index) {
+        if (kind == ClassKind.INTERFACE) {
+            return List.of("public", "static", "final");
+        }
+        return switch (index % 3) {
+            case 0 -> List.of("private");
+            case 1 -> List.of("protected", "final");
+            default -> List.of("private", "static");
+        };
+    }
+
+    private static List<String> methodModifiers(ClassKind kind, int index) {
+        if (kind == ClassKind.INTERFACE || kind == ClassKind.ABSTRACT_CLASS && index % 2 == 1) {
+            return List.of("public", "abstract");
+        }
+        return index % 5 == 4 ? List.of("public", "static") : List.of("public");
+    }
+
+    private static String initialValue(String type) {
+        return switch (type) {
+            case "int" -> "0";
+            case "String" -> "\"\"";
+            case "java.util.List<String>" -> "java.util.List.of()";
+            default -> "java.util.Map.of()";
+        };
+    }
+
+    private static String jsonArray(List<String> values) {
+        return values.stream().map(value -> "\"" + value + "\"").collect(Collectors.joining(",", "[", "]"));
+    }
+
+    /**
+     * Compiles the sources in memory.
+     *
+     * @param sources Class names without package mapped to the source code.
+     * @return Class loader of the compiled classes.
+     */
+    private static MemoryClassLoader compile(Map<String, String> sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No Java compiler is available, run the benchmarks with a JDK.");
+        }
+        List<JavaFileObject> units = new ArrayList<>();
+        sources.forEach((name, source) -> units.add(new SourceFile(name, source)));
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        MemoryFileManager fileManager = new MemoryFileManager(compiler.getStandardFileManager(diagnostics, null, null));
+        boolean compiled = compiler.getTask(null, fileManager, diagnostics, List.of("-proc:none"), null, units).call();
+        if (!compiled) {
+            throw new IllegalStateException("Could not compile the synthetic submission:\n" +
+                                            diagnostics.getDiagnostics().stream()
+                                                       .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+                                                       .map(Object::toString)
+                                                       .collect(Collectors.joining("\n")));
+        }
+        return new MemoryClassLoader(fileManager.classFiles);
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+        private final String source;
+
+        SourceFile(String name, String source) {
+            super(URI.create("string:///" + PACKAGE + "/" + name + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    /**
+     * Keeps the compiled class files in memory, keyed by the binary class name.
+     */
+    private static class MemoryFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+        private final Map<String, byte[]> classFiles = new HashMap<>();
+
+        MemoryFileManager(JavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                                   FileObject sibling) {
+            return new SimpleJavaFileObject(URI.create("mem:///" + className.replace('.', '/') + kind.extension),
+                                            kind) {
+                @Override
+                public OutputStream openOutputStream() {
+                    return new ByteArrayOutputStream() {
+                        @Override
+                        public void close() {
+                            classFiles.put(className, toByteArray());
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    /**
+     * Isolated class loader of the compiled submission. The class files are also served as resources, as the bytecode
+     * backend and the verdict cache read them.
+     */
+    private static class MemoryClassLoader extends ClassLoader {
+        private final Map<String, byte[]> classFiles;
+
+        MemoryClassLoader(Map<String, byte[]> classFiles) {
+            super("synthetic-submission", ClassLoader.getPlatformClassLoader());
+            this.classFiles = classFiles;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] classFile = classFiles.get(name);
+            if (classFile == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, classFile, 0, classFile.length);
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            if (name.endsWith(".class")) {
+                byte[] classFile = classFiles.get(name.substring(0, name.length() - ".class".length())
+                                                      .replace('/', '.'));
+                if (classFile != null) {
+                    return new ByteArrayInputStream(classFile);
+                }
+            }
+            return super.getResourceAsStream(name);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package youPackage.structure;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.DynamicTest;
+import org.opentest4j.TestAbortedException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static de.tum.cit.fop.structure.StructureParser.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.5 (16.10.2026)
+ * <br><br>
+ * Grades many submissions against one structure file in a single JVM. Every submission (a directory with class files
+ * or a jar) is loaded by its own isolated class loader and verified by the structure checks, the getter/setter tests
+ * of {@link GetterSetterTest} and the accessor tests derived from the given structure file. The submissions are
+ * distributed over a worker pool sized to the available cores.
+ * <p></p>
+ * Usage: {@code java youPackage.structure.BatchStructureRunner [--threads n] [--bytecode] <test.json> <submission>...}
+ * <br>
+ * Prints one JSON line with the result of each submission and the throughput at the end. The verdict cache is
+ * enabled by the "structure.verdictCache" system property, see {@link VerdictCache}. A submission that cannot be
+ * graded, e.g. because a static initializer throws, is reported as failed and the other submissions are still graded.
+ */
+class BatchStructureRunner {
+    private static final Logger LOGGER = Logger.getLogger("structure");
+    private final List<JSONClass> classes;
+    private final boolean bytecodeBackend;
+    private final VerdictCache verdictCache;
+
+    protected BatchStructureRunner(List<JSONClass> classes, boolean bytecodeBackend, VerdictCache verdictCache) {
+        this.classes = classes;
+        this.bytecodeBackend = bytecodeBackend;
+        this.verdictCache = verdictCache;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean bytecodeBackend = false;
+        int index = 0;
+        while (index < args.length && args[index].startsWith("--")) {
+            switch (args[index++]) {
+                case "--threads" -> threads = Integer.parseInt(args[index++]);
+                case "--bytecode" -> bytecodeBackend = true;
+                default -> throw new IllegalArgumentException("Unknown option " + args[index - 1] + ".");
+            }
+        }
+        if (args.length - index < 2) {
+            System.err.println(
+                    "Usage: BatchStructureRunner [--threads n] [--bytecode] <path/to/test.json> <submission>...");
+            System.exit(1);
+        }
+
+        BatchStructureRunner runner = new BatchStructureRunner(StructureSpecCache.loadOrCompile(Path.of(args[index])),
+                                                               bytecodeBackend, VerdictCache.fromSystemProperties());
+        List<Path> submissions = new ArrayList<>();
+        for (int i = index + 1; i < args.length; i++) {
+            submissions.add(Path.of(args[i]));
+        }
+
+        long start = System.nanoTime();
+        runner.gradeAll(submissions, threads, result -> System.out.println(result.toJSON()));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.printf("Graded %d submissions in %.2f s (%.1f submissions/s) with %d threads.%n",
+                          submissions.size(), seconds, submissions.size() / seconds, threads);
+    }
+
+    /**
+     * Grades the submissions on a worker pool with the given number of threads.
+     *
+     * @param submissions Paths to the submission directories or jars.
+     * @param threads     Number of worker threads.
+     * @param consumer    Receives the result of each submission as soon as it is graded.
+     */
+    protected void gradeAll(List<Path> submissions, int threads, ResultConsumer consumer)
+            throws InterruptedException, ExecutionException {
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, submissions.size())));
+        try {
+            ExecutorCompletionService<SubmissionResult> completion = new ExecutorCompletionService<>(workers);
+            submissions.forEach(submission -> completion.submit(() -> grade(submission)));
+            for (int i = 0; i < submissions.size(); i++) {
+                consumer.accept(completion.take().get());
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Grades a single submission in its own class loader of the {@link SubmissionClassLoaderPool}, the class loader is
+     * released afterwards.
+     *
+     * @param submission Path to the submission directory or jar.
+     * @return Result of the submission, a failed result with the error if the submission could not be graded.
+     */
+    protected SubmissionResult grade(Path submission) {
+        long start = System.nanoTime();
+        try {
+            return SubmissionClassLoaderPool.shared().withSubmission(submission, () -> {
+                ClassLoader loader = ClassMetadata.submissionLoader();
+                List<StructureReport> reports = new ArrayList<>();
+                BiFunction<JSONClass, ClassLoader, StructureReport> verifier =
+                        bytecodeBackend ? BytecodeStructureVerifier::verify : StructureVerifier::verify;
+                String backend = bytecodeBackend ? "bytecode" : "reflection";
+                for (JSONClass cl : classes) {
+                    reports.add(verdictCache == null ? verifier.apply(cl, loader)
+                                                     : verdictCache.verify(cl, loader, backend, verifier));
+                }
+                return new SubmissionResult(submission, reports, runAccessorTests(), System.nanoTime() - start);
+            });
+        } catch (Throwable e) {
+            // Errors of the submission code, e.g. an ExceptionInInitializerError, must not stop the other submissions.
+            LOGGER.log(Level.WARNING, "Could not grade the submission " + submission + ".", e);
+            String error = e.getCause() == null ? e.toString() : e + ": " + e.getCause();
+            return new SubmissionResult(submission, error, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Generates and executes the getter and setter tests of {@link GetterSetterTest} and the accessor tests derived
+     * from the structure file of the runner for the current submission. The derived tests are generated here instead
+     * of by {@link GetterSetterTest#derivedAccessorsTest()}, which reads the 'test.json' of the class path.
+     */
+    private List<TestResult> runAccessorTests() {
+        GetterSetterTest accessorTests = new GetterSetterTest();
+        List<DynamicTest> tests = new ArrayList<>();
+        List<DynamicTest> getterTests = accessorTests.gettersTest();
+        List<DynamicTest> setterTests = accessorTests.settersTest();
+        if (getterTests != null) {
+            tests.addAll(getterTests);
+        }
+        if (setterTests != null) {
+            tests.addAll(setterTests);
+        }
+        for (JSONClass cl : classes) {
+            // Only concrete classes can be instantiated.
+            if (!cl.isInterface && !cl.isEnum && !cl.isAbstract) {
+                tests.addAll(GetterSetterTestAssembler.generateAccessorTests(cl));
+            }
+        }
+
+        List<TestResult> results = new ArrayList<>();
+        for (DynamicTest test : tests) {
+            try {
+                test.getExecutable().execute();
+                results.add(new TestResult(test.getDisplayName(), "passed", null));
+            } catch (TestAbortedException e) {
+                results.add(new TestResult(test.getDisplayName(), "skipped", e.getMessage()));
+            } catch (Throwable e) {
+                results.add(new TestResult(test.getDisplayName(), "failed", String.valueOf(e.getMessage())));
+            }
+        }
+        return results;
+    }
+
+    @FunctionalInterface
+    protected interface ResultConsumer {
+        void accept(SubmissionResult result);
+    }
+
+    protected static class SubmissionResult {
+        final Path submission;
+        final List<StructureReport> reports;
+        final List<TestResult> accessorResults;
+        final long durationNanos;
+        // Error that stopped the grading of the submission, null if it was graded.
+        final String error;
+
+        public SubmissionResult(Path submission, List<StructureReport> reports, List<TestResult> accessorResults,
+                                long durationNanos) {
+            this.submission = submission;
+            this.reports = List.copyOf(reports);
+            this.accessorResults = List.copyOf(accessorResults);
+            this.durationNanos = durationNanos;
+            this.error = null;
+        }
+
+        public SubmissionResult(Path submission, String error, long durationNanos) {
+            this.submission = submission;
+            this.reports = List.of();
+            this.accessorResults = List.of();
+            this.durationNanos = durationNanos;
+            this.error = error;
+        }
+
+        protected boolean passed() {
+            return error == null && reports.stream().allMatch(StructureReport::passed) &&
+                   accessorResults.stream().noneMatch(result -> result.status.equals("failed"));
+        }
+
+        protected JSONObject toJSON() {
+            JSONArray structure = new JSONArray();
+            reports.forEach(report -> structure.put(report.toJSON()));
+            JSONArray accessors = new JSONArray();
+            accessorResults.forEach(result -> accessors.put(result.toJSON()));
+            JSONObject result = new JSONObject().put("submission", submission.toString())
+                                                .put("passed", passed())
+                                                .put("durationMillis", durationNanos / 1_000_000)
+                                                .put("structure", structure)
+                                                .put("accessors", accessors);
+            return error == null ? result : result.put("error", error);
+        }
+    }
+
+    protected static class TestResult {
+        final String name;
+        final String status;
+        final String message;
+
+        public TestResult(String name, String status, String message) {
+            this.name = name;
+            this.status = status;
+            this.message = message;
+        }
+
+        protected JSONObject toJSON() {
+            JSONObject result = new JSONObject().put("name", name).put("status", status);
+            return message == null ? result : result.put("message", message);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package youPackage.structure;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import static de.tum.cit.fop.structure.StructureParser.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.1 (16.10.2026)
+ * <br><br>
+ * Verification backend that reads the compiled class files of the submission instead of loading them, so static
+ * initializers of the submission are never executed and enum constants are never created.
+ * The structure tests use this backend if the "structure.backend" system property is set to "bytecode".
+ */
+class BytecodeStructureVerifier {
+    /**
+     * Verifies the expected class against the class file found by the class loader of the current submission.
+     *
+     * @param cl Expected class from the structure file.
+     * @return Report with every mismatch between the expected and the target class.
+     */
+    protected static StructureReport verify(JSONClass cl) {
+        return verify(cl, ClassMetadata.submissionLoader());
+    }
+
+    /**
+     * Verifies the expected class against the class file found by the given class loader.
+     *
+     * @param cl     Expected class from the structure file.
+     * @param loader Class loader of the submission, only used to locate the class file.
+     * @return Report with every mismatch between the expected and the target class.
+     */
+    protected static StructureReport verify(JSONClass cl, ClassLoader loader) {
+        String classFile = (cl.packageName + "." + cl.name).replace('.', '/') + ".class";
+        try (InputStream in = loader.getResourceAsStream(classFile)) {
+            if (in == null) {
+                return StructureVerifier.notFound(cl);
+            }
+            return StructureVerifier.verify(cl, ClassFileReader.read(in.readAllBytes()),
+                                            TypeHierarchy.bytecode(loader));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the class file " + classFile + ".", e);
+        }
+    }
+}
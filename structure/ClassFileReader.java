@@ -0,0 +1,448 @@
+package youPackage.structure;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import static de.tum.cit.fop.structure.ClassMetadata.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.2 (16.10.2026)
+ * <br><br>
+ * Minimal reader of the compiled class files (JVMS chapter 4). It collects the same data about the class and its
+ * declared members as the reflection does, without loading or initializing the class. Type names are derived from
+ * the descriptors and the generic signatures in the format of {@code Type.getTypeName()} and converted to the same
+ * {@link TypeSignature} objects as the reflected types.
+ */
+class ClassFileReader {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final int ACC_ENUM = 0x4000;
+
+    private final DataInputStream in;
+    private String[] utf8Entries;
+    private int[] classEntries;
+
+    private ClassFileReader(byte[] classFile) {
+        this.in = new DataInputStream(new ByteArrayInputStream(classFile));
+    }
+
+    /**
+     * Reads the class file.
+     *
+     * @param classFile Content of the class file.
+     * @return Description of the class that can be verified against the expected structure.
+     * @throws IOException thrown if the content is not a valid class file.
+     */
+    protected static TargetClass read(byte[] classFile) throws IOException {
+        return new ClassFileReader(classFile).readClass();
+    }
+
+    private ClassFile readClass() throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a class file.");
+        }
+        // Minor and major version.
+        in.readUnsignedShort();
+        in.readUnsignedShort();
+        readConstantPool();
+
+        ClassFile classFile = new ClassFile();
+        classFile.accessFlags = in.readUnsignedShort();
+        classFile.name = className(in.readUnsignedShort());
+        int superIndex = in.readUnsignedShort();
+        classFile.superName = superIndex == 0 ? null : className(superIndex);
+        int interfaceCount = in.readUnsignedShort();
+        for (int i = 0; i < interfaceCount; i++) {
+            classFile.interfaceNames.add(className(in.readUnsignedShort()).replace('/', '.'));
+        }
+
+        int fieldCount = in.readUnsignedShort();
+        for (int i = 0; i < fieldCount; i++) {
+            int accessFlags = in.readUnsignedShort();
+            MemberInfo field = readMember();
+            if ((accessFlags & ACC_ENUM) != 0) {
+                classFile.enumConstants.add(field.name);
+            }
+            TypeName type = new SignatureParser(field.signature != null ? field.signature : field.descriptor)
+                    .readType();
+            TypeName erasure = new SignatureParser(field.descriptor).readType();
+            classFile.fields.add(new MemberMetadata(null, field.name, accessFlags & Modifier.fieldModifiers(), -1,
+                                                    field.annotationNames, TypeSignature.parse(erasure.typeName),
+                                                    TypeSignature.parse(type.typeName), List.of(), List.of()));
+        }
+
+        int methodCount = in.readUnsignedShort();
+        for (int i = 0; i < methodCount; i++) {
+            int accessFlags = in.readUnsignedShort();
+            MemberInfo method = readMember();
+            if (method.name.equals("<clinit>")) {
+                continue;
+            }
+            List<TypeName> erasedParameters = new ArrayList<>();
+            TypeName erasedReturnType = new SignatureParser(method.descriptor).readMethod(erasedParameters);
+            List<TypeName> parameters = new ArrayList<>();
+            TypeName returnType = erasedReturnType;
+            if (method.signature != null) {
+                returnType = new SignatureParser(method.signature).readMethod(parameters);
+            }
+            if (method.signature == null) {
+                parameters = erasedParameters;
+            }
+            List<TypeSignature> parameterTypes = signatures(erasedParameters);
+            List<TypeSignature> genericParameterTypes = signatures(parameters);
+
+            if (method.name.equals("<init>")) {
+                classFile.constructors.add(new MemberMetadata(null, classFile.name.replace('/', '.'),
+                                                              accessFlags & Modifier.constructorModifiers(),
+                                                              erasedParameters.size(), method.annotationNames, null,
+                                                              null, parameterTypes, genericParameterTypes));
+            } else {
+                classFile.methods.add(new MemberMetadata(null, method.name,
+                                                         accessFlags & Modifier.methodModifiers(),
+                                                         erasedParameters.size(), method.annotationNames,
+                                                         TypeSignature.parse(erasedReturnType.typeName),
+                                                         TypeSignature.parse(returnType.typeName), parameterTypes,
+                                                         genericParameterTypes));
+            }
+        }
+        return classFile;
+    }
+
+    private static List<TypeSignature> signatures(List<TypeName> types) {
+        List<TypeSignature> signatures = new ArrayList<>(types.size());
+        types.forEach(type -> signatures.add(TypeSignature.parse(type.typeName)));
+        return List.copyOf(signatures);
+    }
+
+    private void readConstantPool() throws IOException {
+        int count = in.readUnsignedShort();
+        utf8Entries = new String[count];
+        classEntries = new int[count];
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1 -> utf8Entries[i] = in.readUTF();
+                case 7 -> classEntries[i] = in.readUnsignedShort();
+                case 8, 16, 19, 20 -> in.skipBytes(2);
+                case 15 -> in.skipBytes(3);
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipBytes(4);
+                case 5, 6 -> {
+                    // Long and double constants take two entries.
+                    in.skipBytes(8);
+                    i++;
+                }
+                default -> throw new IOException("Unknown constant pool tag " + tag + ".");
+            }
+        }
+    }
+
+    private String className(int index) {
+        return utf8Entries[classEntries[index]];
+    }
+
+    /**
+     * Reads the name, descriptor, generic signature and runtime visible annotations of a field or method, the access
+     * flags have to be read before.
+     */
+    private MemberInfo readMember() throws IOException {
+        MemberInfo member = new MemberInfo();
+        member.name = utf8Entries[in.readUnsignedShort()];
+        member.descriptor = utf8Entries[in.readUnsignedShort()];
+        int attributeCount = in.readUnsignedShort();
+        for (int i = 0; i < attributeCount; i++) {
+            String attributeName = utf8Entries[in.readUnsignedShort()];
+            int length = in.readInt();
+            switch (attributeName) {
+                case "Signature" -> member.signature = utf8Entries[in.readUnsignedShort()];
+                case "RuntimeVisibleAnnotations" -> {
+                    int annotationCount = in.readUnsignedShort();
+                    for (int j = 0; j < annotationCount; j++) {
+                        String type = utf8Entries[in.readUnsignedShort()];
+                        member.annotationNames.add(new SignatureParser(type).readType().simpleName);
+                        skipElementValuePairs();
+                    }
+                }
+                default -> in.skipBytes(length);
+            }
+        }
+        member.annotationNames = List.copyOf(member.annotationNames);
+        return member;
+    }
+
+    private void skipAnnotation() throws IOException {
+        in.skipBytes(2);
+        skipElementValuePairs();
+    }
+
+    private void skipElementValuePairs() throws IOException {
+        int pairCount = in.readUnsignedShort();
+        for (int i = 0; i < pairCount; i++) {
+            in.skipBytes(2);
+            skipElementValue();
+        }
+    }
+
+    private void skipElementValue() throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'e' -> in.skipBytes(4);
+            case '@' -> skipAnnotation();
+            case '[' -> {
+                int valueCount = in.readUnsignedShort();
+                for (int i = 0; i < valueCount; i++) {
+                    skipElementValue();
+                }
+            }
+            default -> in.skipBytes(2);
+        }
+    }
+
+    /**
+     * Simple name as returned by {@code Class.getSimpleName()} for the binary name of a class, e.g. "java/util/Map$Entry"
+     * or "java.util.Map$Entry".
+     */
+    protected static String simpleName(String binaryName) {
+        String name = binaryName.substring(Math.max(binaryName.lastIndexOf('/'), binaryName.lastIndexOf('.')) + 1);
+        if (name.indexOf('$') < 0) {
+            return name;
+        }
+        // Local and anonymous classes are prefixed with a number, e.g. "Outer$1Local" or "Outer$1".
+        name = name.substring(name.lastIndexOf('$') + 1);
+        int start = 0;
+        while (start < name.length() && Character.isDigit(name.charAt(start))) {
+            start++;
+        }
+        return name.substring(start);
+    }
+
+    private static class MemberInfo {
+        String name;
+        String descriptor;
+        String signature;
+        List<String> annotationNames = new ArrayList<>();
+    }
+
+    /**
+     * Type name in the format of {@code Type.getTypeName()} and simple name in the format of
+     * {@code Class.getSimpleName()}, the simple name is only meaningful for descriptors.
+     */
+    private static class TypeName {
+        final String typeName;
+        final String simpleName;
+
+        TypeName(String typeName, String simpleName) {
+            this.typeName = typeName;
+            this.simpleName = simpleName;
+        }
+    }
+
+    /**
+     * Parser of the field and method descriptors and generic signatures (JVMS 4.3 and 4.7.9.1).
+     */
+    private static class SignatureParser {
+        private final String signature;
+        private int position;
+
+        SignatureParser(String signature) {
+            this.signature = signature;
+        }
+
+        /**
+         * Reads a method descriptor or signature.
+         *
+         * @param parameters List the parameter types are added to.
+         * @return The return type.
+         */
+        TypeName readMethod(List<TypeName> parameters) {
+            if (signature.charAt(position) == '<') {
+                skipTypeParameters();
+            }
+            // Skip '('.
+            position++;
+            while (signature.charAt(position) != ')') {
+                parameters.add(readType());
+            }
+            position++;
+            return readType();
+        }
+
+        TypeName readType() {
+            char c = signature.charAt(position++);
+            return switch (c) {
+                case 'B' -> primitive("byte");
+                case 'C' -> primitive("char");
+                case 'D' -> primitive("double");
+                case 'F' -> primitive("float");
+                case 'I' -> primitive("int");
+                case 'J' -> primitive("long");
+                case 'S' -> primitive("short");
+                case 'Z' -> primitive("boolean");
+                case 'V' -> primitive("void");
+                case '[' -> {
+                    TypeName component = readType();
+                    yield new TypeName(component.typeName + "[]", component.simpleName + "[]");
+                }
+                case 'T' -> {
+                    int end = signature.indexOf(';', position);
+                    String variable = signature.substring(position, end);
+                    position = end + 1;
+                    yield new TypeName(variable, variable);
+                }
+                case 'L' -> readClassType();
+                default -> throw new IllegalArgumentException("Invalid signature " + signature + ".");
+            };
+        }
+
+        private static TypeName primitive(String name) {
+            return new TypeName(name, name);
+        }
+
+        private TypeName readClassType() {
+            StringBuilder typeName = new StringBuilder();
+            StringBuilder binaryName = new StringBuilder();
+            while (true) {
+                char c = signature.charAt(position++);
+                switch (c) {
+                    case '/' -> {
+                        typeName.append('.');
+                        binaryName.append('/');
+                    }
+                    case '.' -> {
+                        // Inner class of a parameterized class.
+                        typeName.append('$');
+                        binaryName.append('$');
+                    }
+                    case '<' -> {
+                        typeName.append('<');
+                        boolean first = true;
+                        while (signature.charAt(position) != '>') {
+                            typeName.append(first ? "" : ", ").append(readTypeArgument());
+                            first = false;
+                        }
+                        position++;
+                        typeName.append('>');
+                    }
+                    case ';' -> {
+                        return new TypeName(typeName.toString(), simpleName(binaryName.toString()));
+                    }
+                    default -> {
+                        typeName.append(c);
+                        binaryName.append(c);
+                    }
+                }
+            }
+        }
+
+        private String readTypeArgument() {
+            char c = signature.charAt(position);
+            if (c == '*') {
+                position++;
+                return "?";
+            }
+            if (c == '+') {
+                position++;
+                String bound = readType().typeName;
+                return bound.equals("java.lang.Object") ? "?" : "? extends " + bound;
+            }
+            if (c == '-') {
+                position++;
+                return "? super " + readType().typeName;
+            }
+            return readType().typeName;
+        }
+
+        /**
+         * Skips the type parameters of a generic method, e.g. "&lt;T:Ljava/lang/Object;&gt;".
+         */
+        private void skipTypeParameters() {
+            position++;
+            while (signature.charAt(position) != '>') {
+                // Skip the identifier, then the class bound (may be empty) and the interface bounds.
+                position = signature.indexOf(':', position);
+                while (signature.charAt(position) == ':') {
+                    position++;
+                    if (signature.charAt(position) != ':') {
+                        readType();
+                    }
+                }
+            }
+            position++;
+        }
+    }
+
+    /**
+     * Description of a class read from its class file.
+     */
+    private static class ClassFile implements TargetClass {
+        int accessFlags;
+        String name;
+        String superName;
+        final List<String> interfaceNames = new ArrayList<>();
+        final List<String> enumConstants = new ArrayList<>();
+        final List<MemberMetadata> fields = new ArrayList<>();
+        final List<MemberMetadata> methods = new ArrayList<>();
+        final List<MemberMetadata> constructors = new ArrayList<>();
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public String superclassName() {
+            // Same as the reflection, interfaces do not have a superclass.
+            return superName == null || isInterface() ? null : simpleName(superName);
+        }
+
+        @Override
+        public List<String> supertypeNames() {
+            List<String> names = new ArrayList<>();
+            if (superName != null && !isInterface()) {
+                names.add(superName.replace('/', '.'));
+            }
+            names.addAll(interfaceNames);
+            return names;
+        }
+
+        @Override
+        public boolean isEnum() {
+            return (accessFlags & ACC_ENUM) != 0 && "java/lang/Enum".equals(superName);
+        }
+
+        @Override
+        public boolean isAbstract() {
+            return (accessFlags & ACC_ABSTRACT) != 0;
+        }
+
+        @Override
+        public boolean isInterface() {
+            return (accessFlags & ACC_INTERFACE) != 0;
+        }
+
+        @Override
+        public List<String> enumConstants() {
+            return enumConstants;
+        }
+
+        @Override
+        public List<MemberMetadata> fields() {
+            return fields;
+        }
+
+        @Override
+        public List<MemberMetadata> methods() {
+            return methods;
+        }
+
+        @Override
+        public List<MemberMetadata> constructors() {
+            return constructors;
+        }
+    }
+}
@@ -0,0 +1,430 @@
+package youPackage.structure;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.10 (16.10.2026)
+ * <br><br>
+ * Introspection cache shared by the structure tests and the getter/setter tests. Every class is resolved once per
+ * class loader, including negative "class not found" results, and the metadata of its declared members is collected
+ * once on the first request.
+ * <p></p>
+ * The metadata of a loaded class is held by the class itself, the cache of a class loader only references it weakly.
+ * So the cache never keeps a class loader reachable and its entries are cleared together with the class loader.
+ */
+class ClassMetadata implements TargetClass {
+    // Class names resolved by a class loader, mapped to their metadata.
+    private static final Map<ClassLoader, Map<String, Supplier<ClassMetadata>>> CACHE =
+            Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ClassValue<ClassMetadata> METADATA = new ClassValue<>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type.getName(), type, null);
+        }
+    };
+    private static final ThreadLocal<ClassLoader> SUBMISSION_LOADER = new ThreadLocal<>();
+    private static final Logger LOGGER = Logger.getLogger("structure");
+
+    final String name;
+    final Class<?> type;
+    // Error of a class that was found but could not be loaded, e.g. its static initializer threw an exception.
+    final String failure;
+    private List<MemberMetadata> fields;
+    private List<MemberMetadata> methods;
+    private List<MemberMetadata> constructors;
+    private Method[] publicMethods;
+    private Map<String, MethodHandle> getters;
+    private List<FieldHandle> hierarchyFields;
+    // Supertypes and inherited members resolved by the reflective TypeHierarchy, a concurrent resolution computes the
+    // same result.
+    volatile TypeHierarchy.Supertypes supertypes;
+
+    private ClassMetadata(String name, Class<?> type, String failure) {
+        this.name = name;
+        this.type = type;
+        this.failure = failure;
+    }
+
+    /**
+     * Resolves the class with the class loader of the current submission, see {@link #submissionLoader()}.
+     *
+     * @param name Class name including package.
+     * @return Metadata of the class, {@link #exists()} returns false if the class could not be found.
+     */
+    protected static ClassMetadata forName(String name) {
+        return forName(name, submissionLoader());
+    }
+
+    /**
+     * Returns the class loader of the submission that is verified by the current thread, see
+     * {@link #withSubmissionLoader(ClassLoader, Callable)}. Defaults to the class loader of the structure tests, as
+     * {@code Class.forName(name)} does.
+     */
+    protected static ClassLoader submissionLoader() {
+        ClassLoader loader = SUBMISSION_LOADER.get();
+        return loader != null ? loader : ClassMetadata.class.getClassLoader();
+    }
+
+    /**
+     * Runs the action with the given class loader as the submission class loader of the current thread, so the
+     * structure and getter/setter tests resolve the classes of this submission.
+     *
+     * @param loader Class loader of the submission.
+     * @param action Action to run.
+     * @return Result of the action.
+     */
+    protected static <T> T withSubmissionLoader(ClassLoader loader, Callable<T> action) throws Exception {
+        ClassLoader previous = SUBMISSION_LOADER.get();
+        SUBMISSION_LOADER.set(loader);
+        try {
+            return action.call();
+        } finally {
+            SUBMISSION_LOADER.set(previous);
+        }
+    }
+
+    /**
+     * Removes the cached classes of the given class loader, so they are resolved and introspected again on the next
+     * request. The cache is cleared on its own once the class loader is garbage collected.
+     */
+    protected static void evict(ClassLoader loader) {
+        Map<String, Supplier<ClassMetadata>> classes = CACHE.remove(loader);
+        if (classes != null) {
+            for (Supplier<ClassMetadata> cached : classes.values()) {
+                ClassMetadata metadata = cached.get();
+                if (metadata != null && metadata.type != null) {
+                    METADATA.remove(metadata.type);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves and initializes the class with the given class loader, the result is cached per class loader.
+     *
+     * @param name   Class name including package.
+     * @param loader Class loader used to resolve the class.
+     * @return Metadata of the class, {@link #exists()} returns false if the class could not be found or loaded, the
+     * error of a class that could not be loaded is kept in {@link #failure}.
+     */
+    protected static ClassMetadata forName(String name, ClassLoader loader) {
+        Map<String, Supplier<ClassMetadata>> classes = CACHE.computeIfAbsent(loader, key -> new ConcurrentHashMap<>());
+        Supplier<ClassMetadata> cached = classes.get(name);
+        ClassMetadata metadata = cached == null ? null : cached.get();
+        if (metadata != null) {
+            return metadata;
+        }
+        // The class is resolved outside the map, static initializers of the class may resolve other classes.
+        StructureEvents.ResolveEvent event = new StructureEvents.ResolveEvent();
+        event.start();
+        Class<?> type;
+        String failure = null;
+        try {
+            type = Class.forName(name, true, loader);
+        } catch (ClassNotFoundException e) {
+            type = null;
+        } catch (LinkageError e) {
+            // The class counts as not found, e.g. if its static initializer throws or a class it uses is missing.
+            LOGGER.warning("Could not load the class " + name + ": " + e);
+            type = null;
+            failure = e.getCause() == null ? e.toString() : e + ": " + e.getCause();
+        }
+        event.className = name;
+        event.found = type != null;
+        event.finish(StructureEvents.Phase.RESOLVE);
+        if (type == null) {
+            // Missing classes do not reference the class loader and are cached directly.
+            ClassMetadata missing = new ClassMetadata(name, null, failure);
+            classes.putIfAbsent(name, () -> missing);
+            return missing;
+        }
+        metadata = METADATA.get(type);
+        classes.putIfAbsent(name, new WeakReference<>(metadata)::get);
+        return metadata;
+    }
+
+    /**
+     * Returns the metadata of an already loaded class.
+     */
+    protected static ClassMetadata of(Class<?> type) {
+        return METADATA.get(type);
+    }
+
+    @Override
+    public boolean exists() {
+        return type != null;
+    }
+
+    @Override
+    public String superclassName() {
+        return type.getSuperclass() == null ? null : type.getSuperclass().getSimpleName();
+    }
+
+    @Override
+    public List<String> supertypeNames() {
+        List<String> names = new ArrayList<>();
+        if (type.getSuperclass() != null) {
+            names.add(type.getSuperclass().getName());
+        }
+        Arrays.stream(type.getInterfaces()).map(Class::getName).forEach(names::add);
+        return names;
+    }
+
+    @Override
+    public boolean isEnum() {
+        return type.isEnum();
+    }
+
+    @Override
+    public boolean isAbstract() {
+        return Modifier.isAbstract(type.getModifiers());
+    }
+
+    @Override
+    public boolean isInterface() {
+        return type.isInterface();
+    }
+
+    @Override
+    public List<String> enumConstants() {
+        return Arrays.stream(type.getEnumConstants()).map(Object::toString).toList();
+    }
+
+    @Override
+    public synchronized List<MemberMetadata> fields() {
+        if (fields == null) {
+            fields = Arrays.stream(type.getDeclaredFields()).map(MemberMetadata::new).toList();
+        }
+        return fields;
+    }
+
+    @Override
+    public synchronized List<MemberMetadata> methods() {
+        if (methods == null) {
+            methods = Arrays.stream(type.getDeclaredMethods()).map(MemberMetadata::new).toList();
+        }
+        return methods;
+    }
+
+    @Override
+    public synchronized List<MemberMetadata> constructors() {
+        if (constructors == null) {
+            constructors = Arrays.stream(type.getDeclaredConstructors()).map(MemberMetadata::new).toList();
+        }
+        return constructors;
+    }
+
+    /**
+     * Returns the public methods of the class including the inherited ones, see {@link Class#getMethods()}.
+     */
+    protected synchronized Method[] publicMethods() {
+        if (publicMethods == null) {
+            publicMethods = type.getMethods();
+        }
+        return publicMethods;
+    }
+
+    /**
+     * Returns the handle of the public method with the given name and without parameters, including the inherited
+     * ones. The handle takes the instance as its only argument and returns the boxed result, static methods ignore the
+     * instance. The handles are resolved once for all methods of the class.
+     *
+     * @param name Name of the method.
+     * @return The handle or null if there is no such method or it cannot be accessed.
+     */
+    protected MethodHandle getter(String name) {
+        return getters().get(name);
+    }
+
+    private synchronized Map<String, MethodHandle> getters() {
+        if (getters == null) {
+            Map<String, MethodHandle> handles = new HashMap<>();
+            for (Method method : publicMethods()) {
+                if (method.getParameterCount() == 0 && !method.isBridge() && !handles.containsKey(method.getName())) {
+                    MethodHandle handle = getterHandle(method);
+                    if (handle != null) {
+                        handles.put(method.getName(), handle);
+                    }
+                }
+            }
+            getters = handles;
+        }
+        return getters;
+    }
+
+    private static MethodHandle getterHandle(Method method) {
+        try {
+            // Public methods of non-public classes are only accessible after this call.
+            method.setAccessible(true);
+        } catch (RuntimeException e) {
+            // Methods of non-open modules are still accessible if the class is public.
+        }
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the handles of the fields declared by the class and all its superclasses, starting with the fields of
+     * the class itself. Fields that cannot be accessed, e.g. private fields of JDK classes, are left out.
+     */
+    protected synchronized List<FieldHandle> hierarchyFields() {
+        if (hierarchyFields == null) {
+            List<FieldHandle> handles = new ArrayList<>();
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                MethodHandles.Lookup lookup;
+                try {
+                    lookup = MethodHandles.privateLookupIn(current, MethodHandles.lookup());
+                } catch (IllegalAccessException e) {
+                    continue;
+                }
+                for (Field field : current.getDeclaredFields()) {
+                    try {
+                        handles.add(new FieldHandle(field, lookup.unreflectVarHandle(field)));
+                    } catch (IllegalAccessException e) {
+                        LOGGER.fine("Could not access the field " + field + ": " + e.getMessage());
+                    }
+                }
+            }
+            hierarchyFields = List.copyOf(handles);
+        }
+        return hierarchyFields;
+    }
+
+    /**
+     * Field of the class or one of its superclasses with the handle to read and write its value.
+     */
+    protected static class FieldHandle {
+        final Field field;
+        // Declaring class and field name, e.g. "Account.balance".
+        final String name;
+        // Final fields cannot be written by the handle.
+        final boolean isFinal;
+        private final VarHandle handle;
+        private final boolean isStatic;
+
+        public FieldHandle(Field field, VarHandle handle) {
+            this.field = field;
+            this.name = field.getDeclaringClass().getSimpleName() + "." + field.getName();
+            this.isFinal = Modifier.isFinal(field.getModifiers());
+            this.handle = handle;
+            this.isStatic = Modifier.isStatic(field.getModifiers());
+        }
+
+        /**
+         * Reads the value of the field from the given instance, primitive values are boxed.
+         */
+        protected Object get(Object instance) {
+            return isStatic ? handle.get() : handle.get(instance);
+        }
+
+        /**
+         * Writes the value of a non-final field of the given instance, boxed values are unboxed.
+         */
+        protected void set(Object instance, Object value) {
+            if (isStatic) {
+                handle.set(value);
+            } else {
+                handle.set(instance, value);
+            }
+        }
+    }
+
+    /**
+     * Data of a declared field, method or constructor that is required to compare it with the expected member of the
+     * structure file. The reflective member is null if the data was read from the class file.
+     */
+    protected static class MemberMetadata {
+        final Member member;
+        final String name;
+        final int modifiers;
+        final int parameterCount;
+        final List<String> annotationNames;
+        // Erased and generic field type or method return type, null for constructors.
+        final TypeSignature type;
+        final TypeSignature genericType;
+        // Erased and generic parameter types, the generic types are the erased types if they are not known for every
+        // parameter.
+        final List<TypeSignature> parameterTypes;
+        final List<TypeSignature> genericParameterTypes;
+
+        MemberMetadata(Field field) {
+            this(field, field, field.getModifiers() & Modifier.fieldModifiers(), -1, field.getType(),
+                 field.getGenericType(), List.of(), List.of());
+        }
+
+        MemberMetadata(Method method) {
+            this(method, method, method.getModifiers() & Modifier.methodModifiers(), method.getParameterCount(),
+                 method.getReturnType(), method.getGenericReturnType(), TypeSignature.of(method.getParameterTypes()),
+                 TypeSignature.of(method.getGenericParameterTypes()));
+        }
+
+        MemberMetadata(Constructor<?> constructor) {
+            this(constructor, constructor, constructor.getModifiers() & Modifier.constructorModifiers(),
+                 constructor.getParameterCount(), null, null, TypeSignature.of(constructor.getParameterTypes()),
+                 TypeSignature.of(constructor.getGenericParameterTypes()));
+        }
+
+        private MemberMetadata(Member member, AccessibleObject accessibleObject, int modifiers, int parameterCount,
+                               Class<?> type, Type genericType, List<TypeSignature> parameterTypes,
+                               List<TypeSignature> genericParameterTypes) {
+            this(member, member.getName(), modifiers, parameterCount, annotationNames(accessibleObject),
+                 TypeSignature.of(type), TypeSignature.of(genericType), parameterTypes, genericParameterTypes);
+            // Required for testing, members of classes in modules that are not open stay inaccessible.
+            accessibleObject.trySetAccessible();
+        }
+
+        MemberMetadata(Member member, String name, int modifiers, int parameterCount, List<String> annotationNames,
+                       TypeSignature type, TypeSignature genericType, List<TypeSignature> parameterTypes,
+                       List<TypeSignature> genericParameterTypes) {
+            this.member = member;
+            this.name = name;
+            this.modifiers = modifiers;
+            this.parameterCount = parameterCount;
+            this.annotationNames = annotationNames;
+            this.type = type;
+            this.genericType = genericType;
+            this.parameterTypes = parameterTypes;
+            // The generic parameter types of e.g. inner class constructors omit the synthetic parameters.
+            this.genericParameterTypes = genericParameterTypes.size() == parameterTypes.size() ? genericParameterTypes
+                                                                                             : parameterTypes;
+        }
+
+        private static List<String> annotationNames(AccessibleObject accessibleObject) {
+            return Arrays.stream(accessibleObject.getAnnotations())
+                         .map(Annotation::annotationType)
+                         .map(Class::getSimpleName)
+                         .toList();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package youPackage.structure;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import static de.tum.cit.fop.structure.ClassMetadata.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.2 (16.10.2026)
+ * <br><br>
+ * Creates instances of the target classes of the getter/setter tests. The constructor is inferred from the argument
+ * values similar to the overload resolution of the Java compiler. Boxed arguments are treated as the primitive values
+ * they hold, so they prefer the primitive parameter, then a widening primitive conversion and only then a reference
+ * supertype such as Object. Among equally good constructors the one with the most specific parameter types is chosen.
+ * The resolved constructor is cached as a method handle per class and argument types and called with the deadline
+ * of the {@link StudentCodeExecutor}.
+ */
+class ConstructorResolver {
+    // Cost of passing an argument to a parameter, the constructor with the lowest total cost is chosen.
+    private static final int EXACT = 0;
+    private static final int WIDENING = 1;
+    private static final int SUBTYPE = 2;
+    private static final int NOT_APPLICABLE = -1;
+
+    private static final Map<Class<?>, Class<?>> PRIMITIVES = Map.of(
+            Boolean.class, boolean.class, Byte.class, byte.class, Short.class, short.class,
+            Character.class, char.class, Integer.class, int.class, Long.class, long.class,
+            Float.class, float.class, Double.class, double.class);
+    // Primitive types mapped to the types they can be widened to, JLS 5.1.2.
+    private static final Map<Class<?>, List<Class<?>>> WIDENING_TARGETS = Map.of(
+            byte.class, List.of(short.class, int.class, long.class, float.class, double.class),
+            short.class, List.of(int.class, long.class, float.class, double.class),
+            char.class, List.of(int.class, long.class, float.class, double.class),
+            int.class, List.of(long.class, float.class, double.class),
+            long.class, List.of(float.class, double.class),
+            float.class, List.of(double.class));
+
+    // Resolved constructors per class, keyed by the argument types or by the explicit parameter types.
+    private static final ClassValue<Map<List<Class<?>>, MethodHandle>> INFERRED = new HandleCache();
+    private static final ClassValue<Map<List<Class<?>>, MethodHandle>> EXPLICIT = new HandleCache();
+
+    /**
+     * Creates an instance with the declared constructor that fits the argument values best.
+     *
+     * @param targetClass Class to instantiate.
+     * @param arguments   Constructor arguments, null or an empty list for the constructor without parameters.
+     * @return The new instance.
+     * @throws NoSuchElementException    thrown if no constructor accepts the arguments.
+     * @throws InvocationTargetException thrown if the constructor throws an exception or does not return in time.
+     */
+    protected static Object newInstance(ClassMetadata targetClass, List<?> arguments)
+            throws InvocationTargetException {
+        Object[] values = arguments == null ? new Object[0] : arguments.toArray();
+        List<Class<?>> argumentTypes = argumentTypes(values);
+        MethodHandle constructor = INFERRED.get(targetClass.type).get(argumentTypes);
+        if (constructor == null) {
+            constructor = resolve(targetClass, argumentTypes, false);
+            INFERRED.get(targetClass.type).put(argumentTypes, constructor);
+        }
+        return invoke(constructor, values);
+    }
+
+    /**
+     * Creates an instance with the declared constructor that has exactly the given parameter types.
+     *
+     * @param targetClass    Class to instantiate.
+     * @param arguments      Constructor arguments.
+     * @param parameterTypes Parameter types of the constructor.
+     * @return The new instance.
+     * @throws NoSuchElementException    thrown if there is no such constructor.
+     * @throws IllegalArgumentException  thrown if the arguments do not match the parameter types.
+     * @throws InvocationTargetException thrown if the constructor throws an exception or does not return in time.
+     */
+    protected static Object newInstance(ClassMetadata targetClass, List<?> arguments, Class<?>[] parameterTypes)
+            throws InvocationTargetException {
+        List<Class<?>> key = List.of(parameterTypes);
+        if (cost(parameterTypes, argumentTypes(arguments.toArray())) == NOT_APPLICABLE) {
+            throw new IllegalArgumentException("The arguments " + arguments + " do not match the parameter types " +
+                                               key + ".");
+        }
+        MethodHandle constructor = EXPLICIT.get(targetClass.type).get(key);
+        if (constructor == null) {
+            constructor = resolve(targetClass, key, true);
+            EXPLICIT.get(targetClass.type).put(key, constructor);
+        }
+        return invoke(constructor, arguments.toArray());
+    }
+
+    // Classes of the argument values, null for null values.
+    private static List<Class<?>> argumentTypes(Object[] values) {
+        List<Class<?>> argumentTypes = Arrays.asList(new Class<?>[values.length]);
+        for (int i = 0; i < values.length; i++) {
+            argumentTypes.set(i, values[i] == null ? null : values[i].getClass());
+        }
+        return argumentTypes;
+    }
+
+    private static Object invoke(MethodHandle constructor, Object[] values) throws InvocationTargetException {
+        try {
+            return StudentCodeExecutor.invoke(() -> (Object) constructor.invokeExact(values));
+        } catch (TimeoutException e) {
+            throw new InvocationTargetException(e, "The constructor did not return within " +
+                                                   StudentCodeExecutor.timeoutMillis() + " ms.");
+        }
+    }
+
+    /**
+     * Finds the constructor for the argument types and adapts it to take the arguments as an object array.
+     */
+    private static MethodHandle resolve(ClassMetadata targetClass, List<Class<?>> argumentTypes, boolean exact) {
+        Constructor<?> best = null;
+        int bestCost = Integer.MAX_VALUE;
+        for (MemberMetadata member : targetClass.constructors()) {
+            Constructor<?> constructor = (Constructor<?>) member.member;
+            int cost = exact ? (Arrays.asList(constructor.getParameterTypes()).equals(argumentTypes) ? EXACT
+                                                                                                    : NOT_APPLICABLE)
+                             : cost(constructor.getParameterTypes(), argumentTypes);
+            if (cost != NOT_APPLICABLE &&
+                (cost < bestCost || cost == bestCost && moreSpecific(constructor, best))) {
+                best = constructor;
+                bestCost = cost;
+            }
+        }
+        if (best == null) {
+            throw new NoSuchElementException("The " + targetClass.name + " class has no constructor for the " +
+                                             "argument types " + argumentTypes + ".");
+        }
+        try {
+            return MethodHandles.lookup()
+                                .unreflectConstructor(best)
+                                .asSpreader(Object[].class, argumentTypes.size())
+                                .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new NoSuchElementException("Could not access the constructor " + best + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the total cost of passing arguments of the given types to the parameters or
+     * {@link #NOT_APPLICABLE}.
+     */
+    private static int cost(Class<?>[] parameterTypes, List<Class<?>> argumentTypes) {
+        if (parameterTypes.length != argumentTypes.size()) {
+            return NOT_APPLICABLE;
+        }
+        int total = 0;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            int cost = cost(parameterTypes[i], argumentTypes.get(i));
+            if (cost == NOT_APPLICABLE) {
+                return NOT_APPLICABLE;
+            }
+            total += cost;
+        }
+        return total;
+    }
+
+    /**
+     * Returns true if every parameter of the candidate can be passed to the corresponding parameter of the other
+     * constructor, e.g. (String) is more specific than (Object). A primitive parameter is more specific than its
+     * wrapper, so (int) is chosen over (Integer) for a boxed argument.
+     */
+    private static boolean moreSpecific(Constructor<?> candidate, Constructor<?> other) {
+        Class<?>[] candidateTypes = candidate.getParameterTypes();
+        Class<?>[] otherTypes = other.getParameterTypes();
+        for (int i = 0; i < candidateTypes.length; i++) {
+            if (!otherTypes[i].isAssignableFrom(candidateTypes[i]) &&
+                !WIDENING_TARGETS.getOrDefault(candidateTypes[i], List.of()).contains(otherTypes[i]) &&
+                PRIMITIVES.get(otherTypes[i]) != candidateTypes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int cost(Class<?> parameterType, Class<?> argumentType) {
+        // Null can be passed to every reference type.
+        if (argumentType == null) {
+            return parameterType.isPrimitive() ? NOT_APPLICABLE : SUBTYPE;
+        }
+        if (parameterType == argumentType) {
+            return EXACT;
+        }
+        if (parameterType.isAssignableFrom(argumentType)) {
+            return SUBTYPE;
+        }
+        Class<?> primitive = PRIMITIVES.get(argumentType);
+        if (primitive == null || !parameterType.isPrimitive()) {
+            return NOT_APPLICABLE;
+        }
+        if (primitive == parameterType) {
+            return EXACT;
+        }
+        return WIDENING_TARGETS.getOrDefault(primitive, List.of()).contains(parameterType) ? WIDENING
+                                                                                          : NOT_APPLICABLE;
+    }
+
+    private static class HandleCache extends ClassValue<Map<List<Class<?>>, MethodHandle>> {
+        @Override
+        protected Map<List<Class<?>>, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package youPackage.structure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static de.tum.cit.fop.structure.ClassMetadata.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.1 (16.10.2026)
+ * <br><br>
+ * Values of all fields of an instance, including the fields of its superclasses. Two snapshots taken before and after
+ * a setter call show which fields the setter changed, and an instance can be reset to a snapshot to reuse it for the
+ * next accessor check.
+ */
+class FieldSnapshot {
+    private final List<FieldHandle> fields;
+    private final Object[] values;
+
+    private FieldSnapshot(List<FieldHandle> fields, Object[] values) {
+        this.fields = fields;
+        this.values = values;
+    }
+
+    /**
+     * Reads the current values of all fields of the given instance.
+     */
+    protected static FieldSnapshot of(Object instance) {
+        List<FieldHandle> fields = ClassMetadata.of(instance.getClass()).hierarchyFields();
+        Object[] values = new Object[fields.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = fields.get(i).get(instance);
+        }
+        return new FieldSnapshot(fields, values);
+    }
+
+    /**
+     * Writes the values of the snapshot back to the non-final fields of the instance the snapshot was taken of.
+     */
+    protected void restore(Object instance) {
+        for (int i = 0; i < values.length; i++) {
+            if (!fields.get(i).isFinal) {
+                fields.get(i).set(instance, values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the value the given field of the same class held when the snapshot was taken.
+     */
+    protected Object valueOf(FieldHandle field) {
+        return values[fields.indexOf(field)];
+    }
+
+    /**
+     * Returns the names of the fields whose values differ from the earlier snapshot of the same instance.
+     */
+    protected List<String> changedFields(FieldSnapshot before) {
+        List<String> changedFields = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            if (!Objects.equals(values[i], before.values[i])) {
+                changedFields.add(fields.get(i).name);
+            }
+        }
+        return changedFields;
+    }
+
+    /**
+     * Returns the name of a field that holds the given value. The fields that changed since the earlier snapshot are
+     * searched first, so the field written by a setter is found even if another field holds the same value.
+     *
+     * @param value  Value to search for.
+     * @param before Earlier snapshot of the same instance.
+     * @return Name of the field or null if no field holds the value.
+     */
+    protected String fieldWithValue(Object value, FieldSnapshot before) {
+        String changedField = changedFieldWithValue(value, before);
+        if (changedField != null) {
+            return changedField;
+        }
+        // A setter that writes the current value again does not change the snapshot.
+        for (int i = 0; i < values.length; i++) {
+            if (Objects.equals(values[i], value)) {
+                return fields.get(i).name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name of a field that holds the given value and changed since the earlier snapshot.
+     *
+     * @param value  Value to search for.
+     * @param before Earlier snapshot of the same instance.
+     * @return Name of the field or null if no changed field holds the value.
+     */
+    protected String changedFieldWithValue(Object value, FieldSnapshot before) {
+        for (int i = 0; i < values.length; i++) {
+            if (!Objects.equals(values[i], before.values[i]) && Objects.equals(values[i], value)) {
+                return fields.get(i).name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if any field holds the given value.
+     */
+    protected boolean contains(Object value) {
+        for (Object fieldValue : values) {
+            if (Objects.equals(fieldValue, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
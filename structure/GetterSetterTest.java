@@ -1,25 +1,35 @@
 package youPackage.structure;
 
 import de.tum.cit.fop.structure.Structure;
+import de.tum.in.test.api.AllowThreads;
 import de.tum.in.test.api.MirrorOutput;
 import de.tum.in.test.api.jupiter.Public;
 import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.TestFactory;
 import org.junit.jupiter.api.Timeout;
 
+import java.io.IOException;
+import java.net.URISyntaxException;
 import java.util.*;
 
+import static de.tum.cit.fop.structure.GetterSetterTestAssembler.generateAccessorTests;
 import static de.tum.cit.fop.structure.GetterSetterTestAssembler.generateGetterTests;
 import static de.tum.cit.fop.structure.GetterSetterTestAssembler.generateSetterTests;
+import static de.tum.cit.fop.structure.StructureParser.*;
 
 /**
  * @author Ivan Parmacli (ivan.parmacli@proton.me)
- * @version 1.1 (05.11.2024)
+ * @version 1.3 (16.10.2026)
  * <br><br>
  * This test verifies if the getter and setter methods of the target class are implemented properly.
  * Use @Disabled annotation to disable a test if it is not needed.
+ * The derived accessor tests do not need any configuration, they test the getters and setters of the attributes in
+ * the structure file.
+ * Every call of a getter, setter or constructor of the submission runs on its own short-lived thread with a deadline,
+ * see {@link StudentCodeExecutor}, so Ares has to allow the tests to start threads.
  */
 @Structure
+@AllowThreads
 class GetterSetterTest {
     /**
      * Verifies that the getters of the target class return the correct values.
@@ -70,4 +80,29 @@ class GetterSetterTest {
         // addition to the map, so the test will use the list to verify the updated values. See the JavaDoc.
         return null;
     }
+
+    /**
+     * Verifies the getters and setters of every class in the structure file whose attributes have a getter or setter
+     * in the expected methods, e.g. "getName()" and "setName(String)" for the attribute "name".
+     * Disable this test if some getters or setters have special logic and test them above instead.
+     *
+     * @return A dynamic test list containing the test for each derived getter and setter.
+     * @throws URISyntaxException     thrown if the URI can not be created from a path to the 'test.json' file.
+     * @throws IOException            thrown if the 'test.json' is not found or could not be read.
+     * @throws ClassNotFoundException thrown if the 'test.json' contains an invalid class entry.
+     */
+    @TestFactory
+    @Timeout(10)
+    @Public
+    @MirrorOutput
+    List<DynamicTest> derivedAccessorsTest() throws URISyntaxException, IOException, ClassNotFoundException {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (JSONClass cl : retrieveStructureFromJSON()) {
+            // Only concrete classes can be instantiated.
+            if (!cl.isInterface && !cl.isEnum && !cl.isAbstract) {
+                tests.addAll(generateAccessorTests(cl));
+            }
+        }
+        return tests;
+    }
 }
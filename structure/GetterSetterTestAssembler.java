@@ -1,20 +1,30 @@
 package youPackage.structure;
 
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.function.Executable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Logger;
 
+import static de.tum.cit.fop.structure.ClassMetadata.*;
+import static de.tum.cit.fop.structure.StructureParser.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.fail;
 
 /**
  * @author Ivan Parmacli (ivan.parmacli@proton.me)
- * @version 1.2 (06.11.2024)
+ * @version 1.13 (16.10.2026)
  * <br><br>
- * Contains the methods that allow the generation of dynamic tests for getters and setters of the target class.
+ * Contains the methods that allow the generation of dynamic tests for getters and setters of the target class. The
+ * tests are either configured with expected values or derived from the attributes of the structure file. Every call
+ * of a getter, setter or constructor of the submission has its own deadline, see {@link StudentCodeExecutor}.
  */
 class GetterSetterTestAssembler {
     // Used for debugging.
@@ -30,9 +40,8 @@ class GetterSetterTestAssembler {
      * @param targetConstructorArgs       Arguments passed to the target class constructor to create an instance of this class.
      *                                    <b>Can be null, if the class has a constructor without any parameters.</b>
      * @param targetConstructorParamTypes Array of class objects to retrieve the correct target class constructor.
-     *                                    It's easier to pass it manually than automatically find one, due to JAVA
-     *                                    primitive types issue. <b>Can be null, if the class has a constructor without
-     *                                    any parameters.</b>
+     *                                    <b>Can be null, then the constructor is inferred from the arguments, see
+     *                                    {@link ConstructorResolver}.</b>
      * @param expectedGetterValues        Map that contains getter method names mapped to expected values.
      * @return List that contains dynamic tests for each getter of the target class w.r.t. expected values.
      */
@@ -40,11 +49,9 @@ class GetterSetterTestAssembler {
                                                            Class<?>[] targetConstructorParamTypes,
                                                            Map<String, Object> expectedGetterValues) {
         // Verify the class existence and get the reference.
-        final Class<?> targetClass;
-        try {
-            targetClass = Class.forName(targetClassName);
-        } catch (ClassNotFoundException e) {
-            LOGGER.warning(e.getMessage());
+        final ClassMetadata targetClass = ClassMetadata.forName(targetClassName);
+        if (!targetClass.exists()) {
+            LOGGER.warning("Could not find the class " + targetClassName);
             return createFailingDynamicTests(expectedGetterValues, "GetterTest[", targetClassName,
                                              "Could not find the \"" +
                                              targetClassName +
@@ -54,16 +61,13 @@ class GetterSetterTestAssembler {
         final Object targetInstance;
         try {
             if (targetConstructorArgs == null || targetConstructorParamTypes == null) {
-                targetInstance = targetClass.getConstructors()[0].newInstance();
+                targetInstance = ConstructorResolver.newInstance(targetClass, targetConstructorArgs);
             } else {
-                targetInstance = Arrays.stream(targetClass.getDeclaredConstructors())
-                                       .filter(constructor -> Arrays.equals(constructor.getParameterTypes(),
-                                                                            targetConstructorParamTypes))
-                                       .findFirst().orElseThrow().newInstance(targetConstructorArgs.toArray());
+                targetInstance = ConstructorResolver.newInstance(targetClass, targetConstructorArgs,
+                                                                 targetConstructorParamTypes);
             }
-        } catch (NoSuchElementException | InstantiationException | IllegalAccessException |
-                 InvocationTargetException | IllegalArgumentException e) {
-            LOGGER.warning(e.getMessage());
+        } catch (NoSuchElementException | InvocationTargetException | IllegalArgumentException e) {
+            LOGGER.warning(failureMessage(e));
             return createFailingDynamicTests(expectedGetterValues, "GetterTest[", targetClassName,
                                              "Could not initialize the \"" +
                                              targetClassName +
@@ -87,34 +91,53 @@ class GetterSetterTestAssembler {
      */
     private static DynamicTest createGetterDynamicTest(Object targetInstance, String targetMethodName, String className,
                                                        Object expectedValue) {
+        Executable test = () -> {
+            String failMessage = "Could not find the \"" + targetMethodName +
+                                 "\" method or it did not return the correct value. Make sure that it is implemented properly.";
+            MethodHandle getter = ClassMetadata.of(targetInstance.getClass()).getter(targetMethodName);
+            assertThat(getter).withFailMessage(failMessage).isNotNull();
+            // Verify values.
+            assertThat(Objects.equals(invokeGetter(getter, targetInstance, targetMethodName), expectedValue))
+                    .withFailMessage(failMessage)
+                    .isTrue();
+        };
         return DynamicTest.dynamicTest("GetterTest[" + className + "|" + targetMethodName + "]",
-                                       () -> {
-                                           assertThat(Arrays.stream(targetInstance.getClass().getMethods())
-                                                            .filter(method -> {
-                                                                method.setAccessible(true);
-                                                                if (method.getName().equals(targetMethodName)) {
-                                                                    try {
-                                                                        // Verify values.
-                                                                        if (Objects.equals(
-                                                                                method.invoke(targetInstance),
-                                                                                expectedValue)) {
-                                                                            return true;
-                                                                        }
-                                                                    } catch (IllegalAccessException |
-                                                                             InvocationTargetException e) {
-                                                                        LOGGER.warning(e.getMessage());
-                                                                        fail("Could not invoke the \"" +
-                                                                             method.getName() +
-                                                                             "\" method due to exception during the method execution.");
-                                                                    }
-                                                                }
-                                                                return false;
-                                                            }).toList())
-                                                   .withFailMessage(
-                                                           "Could not find the \"" + targetMethodName +
-                                                           "\" method or it did not return the correct value. Make sure that it is implemented properly.")
-                                                   .isNotEmpty();
-                                       });
+                                       recorded(className, targetMethodName, test));
+    }
+
+    /**
+     * Invokes the getter on the target instance and fails the test if the getter throws an exception or does not
+     * return in time.
+     */
+    private static Object invokeGetter(MethodHandle getter, Object targetInstance, String targetMethodName) {
+        try {
+            return StudentCodeExecutor.invoke(() -> (Object) getter.invokeExact(targetInstance));
+        } catch (TimeoutException e) {
+            return fail(timeoutMessage(targetMethodName));
+        } catch (InvocationTargetException e) {
+            LOGGER.warning(String.valueOf(e.getCause()));
+            return fail("Could not invoke the \"" + targetMethodName +
+                        "\" method due to exception during the method execution.");
+        }
+    }
+
+    /**
+     * Invokes the setter on the target instance and fails the test if the setter does not return in time.
+     *
+     * @throws InvocationTargetException thrown if the setter throws an exception.
+     */
+    private static void invokeSetter(Method setter, Object targetInstance, Object value)
+            throws InvocationTargetException {
+        try {
+            StudentCodeExecutor.invoke(() -> setter.invoke(targetInstance, value));
+        } catch (TimeoutException e) {
+            fail(timeoutMessage(setter.getName()));
+        }
+    }
+
+    private static String timeoutMessage(String methodName) {
+        return "The \"" + methodName + "\" method did not return within " + StudentCodeExecutor.timeoutMillis() +
+               " ms. Make sure that it does not contain an endless loop.";
     }
 
     /**
@@ -127,9 +150,8 @@ class GetterSetterTestAssembler {
      * @param targetConstructorArgs       Arguments passed to the target class constructor to create an instance of this class.
      *                                    <b>Can be null, if the class has a constructor without any parameters.</b>
      * @param targetConstructorParamTypes Array of class objects to retrieve the correct target class constructor.
-     *                                    It's easier to pass it manually than automatically find one, due to JAVA
-     *                                    primitive types issue. <b>Can be null, if the class has a constructor without
-     *                                    any parameters.</b>
+     *                                    <b>Can be null, then the constructor is inferred from the arguments, see
+     *                                    {@link ConstructorResolver}.</b>
      * @param valuesToSet                 Map that contains setter method names mapped to values to be set.
      * @param expectedNewValues           List that contains the expected new values after the set method was called, may be null
      *                                    if the set methods do not have any special implementation. Example when this should be provided,
@@ -141,11 +163,9 @@ class GetterSetterTestAssembler {
                                                            Class<?>[] targetConstructorParamTypes,
                                                            Map<String, Object> valuesToSet, List<?> expectedNewValues) {
         // Verify the class existence and get the reference.
-        final Class<?> targetClass;
-        try {
-            targetClass = Class.forName(targetClassName);
-        } catch (ClassNotFoundException e) {
-            LOGGER.warning(e.getMessage());
+        final ClassMetadata targetClass = ClassMetadata.forName(targetClassName);
+        if (!targetClass.exists()) {
+            LOGGER.warning("Could not find the class " + targetClassName);
             return createFailingDynamicTests(valuesToSet, "SetterTest[", targetClassName,
                                              "Could not find the \"" +
                                              targetClassName +
@@ -156,16 +176,13 @@ class GetterSetterTestAssembler {
         final Object targetInstance;
         try {
             if (targetConstructorArgs == null || targetConstructorParamTypes == null) {
-                targetInstance = targetClass.getConstructors()[0].newInstance();
+                targetInstance = ConstructorResolver.newInstance(targetClass, targetConstructorArgs);
             } else {
-                targetInstance = Arrays.stream(targetClass.getDeclaredConstructors())
-                                       .filter(constructor -> Arrays.equals(constructor.getParameterTypes(),
-                                                                            targetConstructorParamTypes))
-                                       .findFirst().orElseThrow().newInstance(targetConstructorArgs.toArray());
+                targetInstance = ConstructorResolver.newInstance(targetClass, targetConstructorArgs,
+                                                                 targetConstructorParamTypes);
             }
-        } catch (NoSuchElementException | InstantiationException | IllegalAccessException |
-                 InvocationTargetException | IllegalArgumentException e) {
-            LOGGER.warning(e.getMessage());
+        } catch (NoSuchElementException | InvocationTargetException | IllegalArgumentException e) {
+            LOGGER.warning(failureMessage(e));
             return createFailingDynamicTests(valuesToSet, "SetterTest[", targetClassName,
                                              "Could not initialize the \"" + targetClassName +
                                              "\" class. Make sure that it is implemented properly.");
@@ -191,71 +208,264 @@ class GetterSetterTestAssembler {
                                                               List<?> expectedNewValues) {
         List<?> keysList = new ArrayList<>(valuesToSet.keySet());
         return valuesToSet.keySet().stream().map(key -> {
-            Method targetMethod = Arrays.stream(targetInstance.getClass().getMethods())
+            Method targetMethod = Arrays.stream(ClassMetadata.of(targetInstance.getClass()).publicMethods())
                                         .filter(method -> method.getName().equals(key))
                                         .findFirst()
                                         .orElse(null);
             return DynamicTest.dynamicTest("SetterTest[" + className + "|" + key + "]",
-                                           () -> {
+                                           recorded(className, key, () -> {
                                                // Verify that the method exists.
                                                assertThat(targetMethod)
                                                        .withFailMessage("Could not find the \"" + key +
                                                                         "()\" method within the submission.")
                                                        .isNotNull();
-                                               targetMethod.invoke(targetInstance, valuesToSet.get(key));
-                                               // Get the updated fields.
-                                               List<Object> targetClassAttributes = new ArrayList<>();
-                                               List<?> currentInstanceAttr = Arrays.stream(
-                                                       targetInstance.getClass().getDeclaredFields()).map(field -> {
-                                                   field.setAccessible(true);
-                                                   try {
-                                                       return field.get(targetInstance);
-                                                   } catch (IllegalAccessException e) {
-                                                       LOGGER.warning(e.getMessage());
-                                                       return null;
-                                                   }
-                                               }).toList();
-                                               if (targetInstance.getClass().getSuperclass() != null) {
-                                                   // Also get the attributes of super class if available.
-                                                   List<?> superClassAttributes = Arrays
-                                                           .stream(
-                                                                   targetInstance.getClass()
-                                                                                 .getSuperclass()
-                                                                                 .getDeclaredFields())
-                                                           .map(field -> {
-                                                               field.setAccessible(true);
-                                                               try {
-                                                                   return field.get(
-                                                                           targetInstance);
-                                                               } catch (
-                                                                       IllegalAccessException e) {
-                                                                   LOGGER.warning(
-                                                                           e.getMessage());
-                                                                   return null;
-                                                               }
-                                                           }).toList();
-                                                   targetClassAttributes.addAll(currentInstanceAttr);
-                                                   targetClassAttributes.addAll(superClassAttributes);
-                                               } else {
-                                                   targetClassAttributes.addAll(currentInstanceAttr);
-                                               }
+                                               FieldSnapshot before = FieldSnapshot.of(targetInstance);
+                                               invokeSetter(targetMethod, targetInstance, valuesToSet.get(key));
+                                               FieldSnapshot after = FieldSnapshot.of(targetInstance);
                                                // Verify the new value.
-                                               String failMessage = "The \"" + key +
-                                                                    "()\" method is not implemented properly. Please read the problem statement again.";
                                                if (expectedNewValues == null) {
-                                                   if (!targetClassAttributes.contains(valuesToSet.get(key))) {
-                                                       fail(failMessage);
-                                                   }
+                                                   assertWritten(key, valuesToSet.get(key), before, after);
                                                } else {
-                                                   if (targetClassAttributes.contains(
-                                                           expectedNewValues.get(keysList.indexOf(key)))) {
-                                                       fail(failMessage);
+                                                   if (after.contains(expectedNewValues.get(keysList.indexOf(key)))) {
+                                                       fail(setterFailMessage(key));
                                                    }
                                                }
-                                           });
+                                           }));
         }).toList();
     }
 
+    private static String setterFailMessage(String methodName) {
+        return "The \"" + methodName +
+               "()\" method is not implemented properly. Please read the problem statement again.";
+    }
+
+    /**
+     * Fails the test if no attribute holds the value passed to the setter after the setter call.
+     */
+    private static void assertWritten(String methodName, Object value, FieldSnapshot before, FieldSnapshot after) {
+        String writtenField = after.fieldWithValue(value, before);
+        if (writtenField == null) {
+            failNotWritten(methodName, before, after);
+        }
+        LOGGER.fine("The \"" + methodName + "()\" method wrote the \"" + writtenField + "\" attribute.");
+    }
+
+    private static void failNotWritten(String methodName, FieldSnapshot before, FieldSnapshot after) {
+        List<String> changedFields = after.changedFields(before);
+        fail(setterFailMessage(methodName) + (changedFields.isEmpty()
+                                              ? " No attribute was changed."
+                                              : " Changed attributes: " + changedFields));
+    }
+
+    /**
+     * Derives the getter and setter tests of the expected class from its attributes. The attribute "name" is tested
+     * with the getter "getName()", or "isName()", and the setter "setName(...)" if the structure file expects these
+     * methods in the class. The test values are generated for the type of the attribute, see {@link SampleValues}.
+     * <p></p>
+     * One instance of the class is created for all tests of the class, using the constructor with the fewest
+     * parameters and generated arguments. The instance is reset to its initial state before every check, so the
+     * checks do not depend on each other.
+     *
+     * @param cl Expected class from the structure file.
+     * @return List that contains a dynamic test for each expected getter and setter of the class.
+     */
+    protected static List<DynamicTest> generateAccessorTests(JSONClass cl) {
+        String targetClassName = cl.packageName + "." + cl.name;
+        // Expected getters and setters mapped to their attribute.
+        Map<String, JSONAttribute> getters = new LinkedHashMap<>();
+        Map<String, JSONAttribute> setters = new LinkedHashMap<>();
+        for (JSONAttribute attribute : cl.attributes) {
+            // Attributes and methods without a name match any member, they have no accessor to derive.
+            if (attribute.name == null || attribute.name.isEmpty()) {
+                continue;
+            }
+            String suffix = Character.toUpperCase(attribute.name.charAt(0)) + attribute.name.substring(1);
+            for (JSONMethod method : cl.methods) {
+                if (method.name == null) {
+                    continue;
+                }
+                if (method.parameters.isEmpty() &&
+                    (method.name.equals("get" + suffix) || method.name.equals("is" + suffix))) {
+                    getters.put(method.name, attribute);
+                } else if (method.parameters.size() == 1 && method.name.equals("set" + suffix)) {
+                    setters.put(method.name, attribute);
+                }
+            }
+        }
+        if (getters.isEmpty() && setters.isEmpty()) {
+            return List.of();
+        }
+
+        // Verify the class existence and create the shared instance.
+        final ClassMetadata targetClass = ClassMetadata.forName(targetClassName);
+        String failMessage = null;
+        Object instance = null;
+        if (!targetClass.exists()) {
+            LOGGER.warning("Could not find the class " + targetClassName);
+            failMessage = "Could not find the \"" + targetClassName +
+                          "\" class within the submission. Make sure it is implemented properly.";
+        } else {
+            try {
+                instance = newSampleInstance(targetClass);
+            } catch (NoSuchElementException | InvocationTargetException | IllegalArgumentException e) {
+                LOGGER.warning(failureMessage(e));
+                failMessage = "Could not initialize the \"" + targetClassName +
+                              "\" class. Make sure that it is implemented properly.";
+            }
+        }
+        if (failMessage != null) {
+            List<DynamicTest> tests = new ArrayList<>(
+                    createFailingDynamicTests(getters, "GetterTest[", targetClassName, failMessage));
+            tests.addAll(createFailingDynamicTests(setters, "SetterTest[", targetClassName, failMessage));
+            return tests;
+        }
+
+        List<DynamicTest> tests = new ArrayList<>();
+        // The checks of one class share the instance. They are serialized by their own lock, the monitor of the
+        // instance is used by synchronized accessors that run on the thread of the StudentCodeExecutor.
+        Object lock = new Object();
+        FieldSnapshot initialState = FieldSnapshot.of(instance);
+        List<FieldHandle> fields = ClassMetadata.of(instance.getClass()).hierarchyFields();
+        for (Map.Entry<String, JSONAttribute> getter : getters.entrySet()) {
+            tests.add(createDerivedGetterTest(instance, lock, initialState, field(fields, getter.getValue().name),
+                                              getter.getKey(), getter.getValue().name, targetClassName));
+        }
+        for (Map.Entry<String, JSONAttribute> setter : setters.entrySet()) {
+            tests.add(createDerivedSetterTest(instance, lock, initialState, field(fields, setter.getValue().name),
+                                              setter.getKey(), targetClassName));
+        }
+        return tests;
+    }
+
+    /**
+     * Creates an instance with the constructor that has the fewest parameters and generated arguments.
+     */
+    private static Object newSampleInstance(ClassMetadata targetClass) throws InvocationTargetException {
+        Constructor<?> constructor = targetClass.constructors().stream()
+                                                .map(member -> (Constructor<?>) member.member)
+                                                .min(Comparator.comparingInt(Constructor::getParameterCount))
+                                                .orElseThrow();
+        List<Object> arguments = new ArrayList<>();
+        for (Class<?> parameterType : constructor.getParameterTypes()) {
+            arguments.add(SampleValues.differentFrom(parameterType, null));
+        }
+        return ConstructorResolver.newInstance(targetClass, arguments, constructor.getParameterTypes());
+    }
+
+    /**
+     * Returns the field with the given name, the fields of the class come before the fields of its superclasses.
+     */
+    private static FieldHandle field(List<FieldHandle> fields, String name) {
+        return fields.stream().filter(field -> field.field.getName().equals(name)).findFirst().orElse(null);
+    }
+
+    /**
+     * Creates a test that writes a generated value to the attribute and expects the getter to return it. Final
+     * attributes keep their initial value.
+     */
+    private static DynamicTest createDerivedGetterTest(Object instance, Object lock, FieldSnapshot initialState,
+                                                       FieldHandle field, String getterName, String attributeName,
+                                                       String className) {
+        Executable test = () -> {
+            assertThat(field).withFailMessage("Could not find the \"" + attributeName + "\" attribute of the \"" +
+                                              className + "\" class.")
+                             .isNotNull();
+            Object expectedValue = initialState.valueOf(field);
+            if (!field.isFinal) {
+                expectedValue = sampleValue(field.field.getGenericType(), expectedValue, attributeName);
+            }
+            MethodHandle getter = ClassMetadata.of(instance.getClass()).getter(getterName);
+            String failMessage = "Could not find the \"" + getterName + "\" method or it did not return the " +
+                                 "correct value. Make sure that it is implemented properly.";
+            assertThat(getter).withFailMessage(failMessage).isNotNull();
+            synchronized (lock) {
+                initialState.restore(instance);
+                if (!field.isFinal) {
+                    field.set(instance, expectedValue);
+                }
+                assertThat(Objects.equals(invokeGetter(getter, instance, getterName), expectedValue))
+                        .withFailMessage(failMessage)
+                        .isTrue();
+            }
+        };
+        return DynamicTest.dynamicTest("GetterTest[" + className + "|" + getterName + "]",
+                                       recorded(className, getterName, test));
+    }
+
+    /**
+     * Creates a test that passes a generated value to the setter and expects the attribute to hold it afterwards. If
+     * the class has no field with the name of the attribute, any changed field may hold the value.
+     */
+    private static DynamicTest createDerivedSetterTest(Object instance, Object lock, FieldSnapshot initialState,
+                                                       FieldHandle field, String setterName, String className) {
+        Method setter = Arrays.stream(ClassMetadata.of(instance.getClass()).publicMethods())
+                              .filter(method -> method.getName().equals(setterName) &&
+                                                method.getParameterCount() == 1)
+                              .findFirst()
+                              .orElse(null);
+        Executable test = () -> {
+            // Verify that the method exists.
+            assertThat(setter).withFailMessage("Could not find the \"" + setterName +
+                                               "()\" method within the submission.")
+                              .isNotNull();
+            Object value = sampleValue(setter.getGenericParameterTypes()[0],
+                                       field == null ? null : initialState.valueOf(field), setterName);
+            synchronized (lock) {
+                initialState.restore(instance);
+                invokeSetter(setter, instance, value);
+                FieldSnapshot after = FieldSnapshot.of(instance);
+                // The value differs from the initial value, so the attribute or another field has to change.
+                boolean written = field != null ? Objects.equals(after.valueOf(field), value)
+                                                : after.changedFieldWithValue(value, initialState) != null;
+                if (!written) {
+                    failNotWritten(setterName, initialState, after);
+                }
+            }
+        };
+        return DynamicTest.dynamicTest("SetterTest[" + className + "|" + setterName + "]",
+                                       recorded(className, setterName, test));
+    }
+
+    /**
+     * Generates a test value, the test is aborted if no value of the type can be generated.
+     */
+    private static Object sampleValue(Type type, Object current, String name) {
+        try {
+            return SampleValues.differentFrom(type, current);
+        } catch (NoSuchElementException e) {
+            LOGGER.fine(e.getMessage());
+            Assumptions.assumeTrue(false, "Could not generate a test value for \"" + name + "\".");
+            return null;
+        }
+    }
+
+    /**
+     * Returns the message of a failed instantiation. An {@link InvocationTargetException} without a message is
+     * described by the exception the constructor threw.
+     */
+    private static String failureMessage(Exception e) {
+        return e instanceof InvocationTargetException && e.getMessage() == null ? String.valueOf(e.getCause())
+                                                                               : e.getMessage();
+    }
+
+    /**
+     * Wraps the getter or setter test, so its execution is recorded as a {@link StructureEvents.AccessorTestEvent}.
+     */
+    private static Executable recorded(String className, String methodName, Executable test) {
+        return () -> {
+            StructureEvents.AccessorTestEvent event = new StructureEvents.AccessorTestEvent();
+            event.start();
+            try {
+                test.execute();
+                event.passed = true;
+            } finally {
+                event.className = className;
+                event.methodName = methodName;
+                event.finish(StructureEvents.Phase.ACCESSOR_TEST);
+            }
+        };
+    }
+
     /**
      * Creates a list of dynamic tests for each method name that is contained in the map object, required for better
      * feedback, otherwise only one test will be shown as failed and others won't be executed.
@@ -266,7 +476,7 @@ class GetterSetterTestAssembler {
      * @param message    Fail message.
      * @return List with dynamic tests that will fail.
      */
-    private static List<DynamicTest> createFailingDynamicTests(Map<String, Object> values, String methodType,
+    private static List<DynamicTest> createFailingDynamicTests(Map<String, ?> values, String methodType,
                                                                String className,
                                                                String message) {
         return values.keySet()
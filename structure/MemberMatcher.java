@@ -0,0 +1,89 @@
+package youPackage.structure;
+
+import java.util.List;
+
+import static de.tum.cit.fop.structure.ClassMetadata.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.0 (16.10.2026)
+ * <br><br>
+ * Compiled checks of one expected attribute, constructor or method. The matcher is created once per entry of the
+ * structure file and only performs the checks the entry needs. The checks run from the cheapest and most selective
+ * to the most expensive one: name, number of parameters, modifiers, type, parameter types and annotations, so most
+ * target members are rejected by a string or integer comparison.
+ */
+class MemberMatcher {
+    // Null if the name or the type is not checked.
+    private final String name;
+    private final TypeSignature type;
+    private final int modifierMask;
+    // Null for attributes, they have no parameters.
+    private final TypeSignature[] parameterTypes;
+    private final List<String> annotations;
+
+    /**
+     * @param name           Expected name, null for constructors or to accept any name.
+     * @param type           Expected field type or return type, null for constructors or to accept any type.
+     * @param modifierMask   Modifier mask of the expected modifiers, see {@link StructureParser#modifierMask(List)}.
+     * @param parameterTypes Expected parameter types, null for attributes.
+     * @param annotations    Simple names of the expected annotations.
+     */
+    public MemberMatcher(String name, TypeSignature type, int modifierMask, List<TypeSignature> parameterTypes,
+                         List<String> annotations) {
+        this.name = name;
+        this.type = type;
+        this.modifierMask = modifierMask;
+        this.parameterTypes = parameterTypes == null ? null : parameterTypes.toArray(new TypeSignature[0]);
+        this.annotations = List.copyOf(annotations);
+    }
+
+    /**
+     * Returns true if the target member satisfies every check of the expected member.
+     */
+    protected boolean matches(MemberMetadata target) {
+        // Check name.
+        if (name != null && !name.equals(target.name)) {
+            return false;
+        }
+
+        // Check the number of parameters.
+        if (parameterTypes != null && parameterTypes.length != target.parameterCount) {
+            return false;
+        }
+
+        // Check modifiers.
+        if ((target.modifiers & modifierMask) != modifierMask) {
+            return false;
+        }
+
+        // Check type, the generic or the erased type has to match.
+        if (type != null && !type.matches(target.genericType) && !type.matches(target.type)) {
+            return false;
+        }
+
+        // Check parameter types.
+        if (parameterTypes != null && !hasParameterTypes(target)) {
+            return false;
+        }
+
+        // Check annotations.
+        return target.annotationNames.size() == annotations.size() &&
+               target.annotationNames.containsAll(annotations);
+    }
+
+    /**
+     * Checks that every expected parameter type matches the generic or the erased type of the parameter at the same
+     * position, the number of parameters is already checked.
+     */
+    private boolean hasParameterTypes(MemberMetadata target) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            TypeSignature expected = parameterTypes[i];
+            if (!expected.matches(target.genericParameterTypes.get(i)) &&
+                !expected.matches(target.parameterTypes.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,145 @@
+package youPackage.structure;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.1 (16.10.2026)
+ * <br><br>
+ * Generates test values for the derived getter/setter tests. A value differs from the current value of the attribute,
+ * so a setter that does not write the attribute is noticed. Primitives, their wrappers, strings and enums get
+ * constant values, arrays get new instances of length 1, lists, sets and maps get one generated element of their type
+ * arguments and other classes are created with their constructor without parameters.
+ */
+class SampleValues {
+    // Two candidates per type, the second one is used if the first one equals the current value.
+    private static final Map<Class<?>, List<Object>> CANDIDATES = Map.ofEntries(
+            Map.entry(boolean.class, List.of(true, false)), Map.entry(Boolean.class, List.of(true, false)),
+            Map.entry(byte.class, List.of((byte) 42, (byte) 43)), Map.entry(Byte.class, List.of((byte) 42, (byte) 43)),
+            Map.entry(short.class, List.of((short) 42, (short) 43)),
+            Map.entry(Short.class, List.of((short) 42, (short) 43)),
+            Map.entry(char.class, List.of('x', 'y')), Map.entry(Character.class, List.of('x', 'y')),
+            Map.entry(int.class, List.of(42, 43)), Map.entry(Integer.class, List.of(42, 43)),
+            Map.entry(long.class, List.of(42L, 43L)), Map.entry(Long.class, List.of(42L, 43L)),
+            Map.entry(float.class, List.of(4.2f, 4.3f)), Map.entry(Float.class, List.of(4.2f, 4.3f)),
+            Map.entry(double.class, List.of(4.2, 4.3)), Map.entry(Double.class, List.of(4.2, 4.3)),
+            Map.entry(String.class, List.of("sample", "other sample")),
+            Map.entry(CharSequence.class, List.of("sample", "other sample")));
+
+    /**
+     * Returns a value of the given type that does not equal the current value.
+     *
+     * @param type    Type of the attribute or the setter parameter, the type arguments of collections are used for
+     *                their element.
+     * @param current Current value of the attribute, null if it is unknown.
+     * @return The value.
+     * @throws NoSuchElementException thrown if no value of the type can be generated.
+     */
+    protected static Object differentFrom(Type type, Object current) {
+        Class<?> rawType = rawType(type);
+        List<Object> candidates = CANDIDATES.get(rawType);
+        if (candidates != null) {
+            return Objects.equals(candidates.get(0), current) ? candidates.get(1) : candidates.get(0);
+        }
+        if (rawType.isEnum()) {
+            return Arrays.stream(rawType.getEnumConstants())
+                         .filter(constant -> !constant.equals(current))
+                         .findFirst()
+                         .orElseThrow(() -> new NoSuchElementException("The enum " + rawType.getName() +
+                                                                       " has no other constant."));
+        }
+        // New instances are never the same object as the current value.
+        if (rawType.isArray()) {
+            return Array.newInstance(rawType.getComponentType(), 1);
+        }
+        if (rawType == Object.class) {
+            return new Object();
+        }
+        // Collections get one element, an empty collection equals e.g. the initial "new ArrayList<>()".
+        if (rawType.isAssignableFrom(ArrayList.class)) {
+            return withElement(new ArrayList<>(), typeArgument(type, 0), current);
+        }
+        if (rawType.isAssignableFrom(HashSet.class)) {
+            return withElement(new HashSet<>(), typeArgument(type, 0), current);
+        }
+        if (rawType.isAssignableFrom(HashMap.class)) {
+            Map<Object, Object> map = new HashMap<>();
+            Object key = differentFrom(typeArgument(type, 0), null);
+            map.put(key, differentFrom(typeArgument(type, 1), null));
+            if (map.equals(current)) {
+                map.clear();
+                map.put(differentFrom(typeArgument(type, 0), key), differentFrom(typeArgument(type, 1), null));
+            }
+            return map;
+        }
+        return newInstance(rawType);
+    }
+
+    private static Collection<Object> withElement(Collection<Object> collection, Type elementType, Object current) {
+        Object element = differentFrom(elementType, null);
+        collection.add(element);
+        if (collection.equals(current)) {
+            collection.clear();
+            collection.add(differentFrom(elementType, element));
+        }
+        return collection;
+    }
+
+    /**
+     * Returns the class of the given type, type variables and wildcards are replaced by their first upper bound.
+     */
+    private static Class<?> rawType(Type type) {
+        if (type instanceof ParameterizedType parameterizedType) {
+            return (Class<?>) parameterizedType.getRawType();
+        }
+        if (type instanceof GenericArrayType arrayType) {
+            return Array.newInstance(rawType(arrayType.getGenericComponentType()), 0).getClass();
+        }
+        if (type instanceof TypeVariable<?> variable) {
+            return rawType(variable.getBounds()[0]);
+        }
+        if (type instanceof WildcardType wildcard) {
+            return rawType(wildcard.getUpperBounds()[0]);
+        }
+        return (Class<?>) type;
+    }
+
+    /**
+     * Returns the type argument at the given index, Object for raw types.
+     */
+    private static Type typeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType parameterizedType &&
+            parameterizedType.getActualTypeArguments().length > index) {
+            return parameterizedType.getActualTypeArguments()[index];
+        }
+        return Object.class;
+    }
+
+    private static Object newInstance(Class<?> type) {
+        if (type.isPrimitive() || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            throw new NoSuchElementException("Could not generate a value of the type " + type.getName() + ".");
+        }
+        try {
+            return ConstructorResolver.newInstance(ClassMetadata.of(type), null);
+        } catch (InvocationTargetException e) {
+            throw new NoSuchElementException("Could not create an instance of " + type.getName() + ": " +
+                                             e.getCause());
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package youPackage.structure;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static de.tum.cit.fop.structure.StructureParser.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.2 (16.10.2026)
+ * <br><br>
+ * Long-running grading daemon that keeps the JVM, the parsed structure files and the introspection code warm between
+ * grading jobs. A job names a structure file and a submission (a directory with class files or a jar) and is graded
+ * like a submission of the {@link BatchStructureRunner}. A structure file is parsed on its first job and parsed again
+ * only when the file changes.
+ * <p></p>
+ * Usage: {@code java youPackage.structure.StructureDaemon [--port n] [--threads n] [--bytecode] [test.json...]}
+ * <br>
+ * The given structure files are loaded before the daemon accepts jobs. The daemon only listens on the loopback
+ * address and offers the following endpoints:
+ * <ul>
+ *     <li>{@code POST /grade} with {@code {"spec": "path/to/test.json", "submission": "path/to/classes"}} returns the
+ *     result of the submission as JSON.</li>
+ *     <li>{@code GET /status} returns the loaded structure files and the number of graded submissions.</li>
+ *     <li>{@code POST /shutdown} stops the daemon.</li>
+ * </ul>
+ */
+class StructureDaemon {
+    private static final Logger LOGGER = Logger.getLogger("structure");
+    private static final int DEFAULT_PORT = 8790;
+
+    private final Map<Path, WarmSpec> specs = new ConcurrentHashMap<>();
+    private final AtomicLong gradedSubmissions = new AtomicLong();
+    private final long startMillis = System.currentTimeMillis();
+    private final boolean bytecodeBackend;
+    private final VerdictCache verdictCache;
+    private HttpServer server;
+    private ExecutorService workers;
+
+    protected StructureDaemon(boolean bytecodeBackend, VerdictCache verdictCache) {
+        this.bytecodeBackend = bytecodeBackend;
+        this.verdictCache = verdictCache;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = DEFAULT_PORT;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean bytecodeBackend = false;
+        int index = 0;
+        while (index < args.length && args[index].startsWith("--")) {
+            switch (args[index++]) {
+                case "--port" -> port = Integer.parseInt(args[index++]);
+                case "--threads" -> threads = Integer.parseInt(args[index++]);
+                case "--bytecode" -> bytecodeBackend = true;
+                default -> throw new IllegalArgumentException("Unknown option " + args[index - 1] + ".");
+            }
+        }
+
+        StructureDaemon daemon = new StructureDaemon(bytecodeBackend, VerdictCache.fromSystemProperties());
+        for (int i = index; i < args.length; i++) {
+            daemon.spec(Path.of(args[i]));
+        }
+        InetSocketAddress address = daemon.start(port, threads);
+        System.err.println("Listening on http://" + address.getHostString() + ":" + address.getPort() + " with " +
+                           threads + " threads, " + daemon.specs.size() + " structure files loaded.");
+    }
+
+    /**
+     * Starts the HTTP server on the loopback address.
+     *
+     * @param port    Port to listen on, 0 for any free port.
+     * @param threads Number of jobs that are graded concurrently.
+     * @return The address the daemon listens on.
+     * @throws IOException thrown if the server could not be started.
+     */
+    protected InetSocketAddress start(int port, int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        workers = Executors.newFixedThreadPool(Math.max(1, threads));
+        server.setExecutor(workers);
+        server.createContext("/grade", exchange -> handle(exchange, "POST", this::grade));
+        server.createContext("/status", exchange -> handle(exchange, "GET", request -> status()));
+        server.createContext("/shutdown", exchange -> handle(exchange, "POST", request -> {
+            // The response is sent before the server stops.
+            new Thread(this::stop, "structure-daemon-shutdown").start();
+            return new JSONObject().put("stopping", true);
+        }));
+        server.start();
+        return server.getAddress();
+    }
+
+    /**
+     * Stops the server, running jobs are given one second to finish.
+     */
+    protected void stop() {
+        server.stop(1);
+        workers.shutdownNow();
+    }
+
+    private JSONObject grade(JSONObject request) throws Exception {
+        if (!request.has("spec") || !request.has("submission")) {
+            throw new BadRequestException("The job needs a \"spec\" and a \"submission\" path.");
+        }
+        Path submission = Path.of(request.getString("submission"));
+        if (!Files.exists(submission)) {
+            throw new BadRequestException("The submission " + submission + " does not exist.");
+        }
+        WarmSpec spec = spec(Path.of(request.getString("spec")));
+        JSONObject result = spec.runner.grade(submission).toJSON();
+        gradedSubmissions.incrementAndGet();
+        return result;
+    }
+
+    private JSONObject status() {
+        JSONObject loadedSpecs = new JSONObject();
+        specs.forEach((path, spec) -> loadedSpecs.put(path.toString(), spec.classCount));
+        return new JSONObject().put("specs", loadedSpecs)
+                               .put("gradedSubmissions", gradedSubmissions.get())
+                               .put("uptimeMillis", System.currentTimeMillis() - startMillis);
+    }
+
+    /**
+     * Returns the warm structure file, it is parsed again if it changed since it was loaded.
+     *
+     * @param jsonFile Path to the JSON structure file.
+     * @return The loaded structure file.
+     * @throws BadRequestException    thrown if the structure file does not exist.
+     * @throws IOException            thrown if the structure file could not be read.
+     * @throws ClassNotFoundException thrown if the structure file contains an invalid class entry.
+     */
+    protected WarmSpec spec(Path jsonFile) throws IOException, ClassNotFoundException {
+        Path path = jsonFile.toAbsolutePath().normalize();
+        if (!Files.isRegularFile(path)) {
+            throw new BadRequestException("The structure file " + path + " does not exist.");
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        WarmSpec spec = specs.get(path);
+        if (spec != null && spec.isCurrent(attributes)) {
+            return spec;
+        }
+        // Concurrent jobs of a changed structure file may both parse it, the last one wins.
+        List<JSONClass> classes = StructureSpecCache.loadOrCompile(path);
+        spec = new WarmSpec(new BatchStructureRunner(classes, bytecodeBackend, verdictCache), classes.size(),
+                            attributes);
+        specs.put(path, spec);
+        LOGGER.info("Loaded the structure file " + path + ".");
+        return spec;
+    }
+
+    private static void handle(HttpExchange exchange, String method, RequestHandler handler) throws IOException {
+        int status = 200;
+        JSONObject response;
+        try (exchange) {
+            try {
+                if (!exchange.getRequestMethod().equals(method)) {
+                    throw new BadRequestException("Use " + method + " for " + exchange.getRequestURI().getPath() +
+                                                  ".");
+                }
+                byte[] body = exchange.getRequestBody().readAllBytes();
+                response = handler.handle(body.length == 0 ? new JSONObject()
+                                                           : new JSONObject(new String(body,
+                                                                                       StandardCharsets.UTF_8)));
+            } catch (BadRequestException | JSONException | ClassNotFoundException e) {
+                status = 400;
+                response = new JSONObject().put("error", e.getMessage());
+            } catch (Throwable e) {
+                // Errors of the submission code, e.g. an ExceptionInInitializerError, must not end without a response.
+                LOGGER.log(Level.WARNING, "Could not handle the request " + exchange.getRequestURI() + ".", e);
+                status = 500;
+                response = new JSONObject().put("error", e.getMessage() == null ? e.toString() : e.getMessage());
+            }
+            byte[] bytes = response.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RequestHandler {
+        JSONObject handle(JSONObject request) throws Exception;
+    }
+
+    /**
+     * Thrown if a job is invalid, answered with status 400.
+     */
+    protected static class BadRequestException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public BadRequestException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Parsed structure file together with the runner that grades submissions against it.
+     */
+    protected static class WarmSpec {
+        final BatchStructureRunner runner;
+        final int classCount;
+        // Identifies the version of the structure file the structure was parsed from.
+        final long lastModifiedMillis;
+        final long size;
+
+        public WarmSpec(BatchStructureRunner runner, int classCount, BasicFileAttributes attributes) {
+            this.runner = runner;
+            this.classCount = classCount;
+            this.lastModifiedMillis = attributes.lastModifiedTime().toMillis();
+            this.size = attributes.size();
+        }
+
+        protected boolean isCurrent(BasicFileAttributes attributes) {
+            return lastModifiedMillis == attributes.lastModifiedTime().toMillis() && size == attributes.size();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package youPackage.structure;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.0 (16.10.2026)
+ * <br><br>
+ * Java Flight Recorder events of the structure and getter/setter tests. An event is only timed and committed while a
+ * recording has it enabled, so the events cost close to nothing if no recording is running. The durations of the
+ * committed events are also summed up per phase and emitted every second by the {@link PhaseSummaryEvent}.
+ * <p></p>
+ * Record a run with {@code -XX:StartFlightRecording=filename=structure.jfr}. The member check events are disabled by
+ * default, as there is one per compared pair of members, enable them with
+ * {@code jfr configure +structure.MemberCheck#enabled=true} or a custom settings file.
+ */
+class StructureEvents {
+    /**
+     * Phases of a structure run, the phases nest: the verification of a class includes the resolution of the class
+     * and the member checks, a structure test includes the verification of its class if it is the first test of it.
+     */
+    protected enum Phase {
+        PARSE, RESOLVE, VERIFY, MEMBER_CHECK, STRUCTURE_TEST, ACCESSOR_TEST
+    }
+
+    private static final LongAdder[] PHASE_NANOS = new LongAdder[Phase.values().length];
+    private static final LongAdder[] PHASE_COUNTS = new LongAdder[Phase.values().length];
+
+    static {
+        for (int i = 0; i < PHASE_NANOS.length; i++) {
+            PHASE_NANOS[i] = new LongAdder();
+            PHASE_COUNTS[i] = new LongAdder();
+        }
+        FlightRecorder.addPeriodicEvent(PhaseSummaryEvent.class, StructureEvents::emitSummary);
+    }
+
+    private static void emitSummary() {
+        PhaseSummaryEvent event = new PhaseSummaryEvent();
+        event.parse = PHASE_NANOS[Phase.PARSE.ordinal()].sum();
+        event.resolve = PHASE_NANOS[Phase.RESOLVE.ordinal()].sum();
+        event.verify = PHASE_NANOS[Phase.VERIFY.ordinal()].sum();
+        event.memberCheck = PHASE_NANOS[Phase.MEMBER_CHECK.ordinal()].sum();
+        event.structureTest = PHASE_NANOS[Phase.STRUCTURE_TEST.ordinal()].sum();
+        event.accessorTest = PHASE_NANOS[Phase.ACCESSOR_TEST.ordinal()].sum();
+        event.verifiedClasses = PHASE_COUNTS[Phase.VERIFY.ordinal()].sum();
+        event.memberChecks = PHASE_COUNTS[Phase.MEMBER_CHECK.ordinal()].sum();
+        event.commit();
+    }
+
+    /**
+     * Base class of the timed events, every event belongs to one phase.
+     */
+    @Category({"Structure Tests"})
+    @StackTrace(false)
+    protected abstract static class PhaseEvent extends Event {
+        // Transient fields are not recorded.
+        private transient long startNanos;
+
+        /**
+         * Starts the timing of the event if it is enabled.
+         */
+        protected void start() {
+            if (isEnabled()) {
+                startNanos = System.nanoTime();
+                begin();
+            }
+        }
+
+        /**
+         * Commits the event and adds its duration to the phase if the event is enabled and exceeds its threshold.
+         */
+        protected void finish(Phase phase) {
+            if (!isEnabled()) {
+                return;
+            }
+            end();
+            if (shouldCommit()) {
+                PHASE_NANOS[phase.ordinal()].add(System.nanoTime() - startNanos);
+                PHASE_COUNTS[phase.ordinal()].increment();
+                commit();
+            }
+        }
+    }
+
+    @Name("structure.Parse")
+    @Label("Structure File Parsing")
+    @Description("Loads the expected structure from the binary cache or parses the structure file")
+    protected static class ParseEvent extends PhaseEvent {
+        @Label("Structure File")
+        String file;
+        @Label("Classes")
+        int classCount;
+        @Label("Cached")
+        boolean cached;
+    }
+
+    @Name("structure.Resolve")
+    @Label("Class Resolution")
+    @Description("Loads and initializes a class of the submission")
+    protected static class ResolveEvent extends PhaseEvent {
+        @Label("Class Name")
+        String className;
+        @Label("Found")
+        boolean found;
+    }
+
+    @Name("structure.Verify")
+    @Label("Class Verification")
+    @Description("Compares an expected class with the target class")
+    protected static class VerifyEvent extends PhaseEvent {
+        @Label("Class Name")
+        String className;
+        @Label("Backend")
+        String backend;
+        @Label("Mismatches")
+        int mismatches;
+    }
+
+    @Name("structure.MemberCheck")
+    @Label("Member Check")
+    @Description("Compares a target member with an expected member")
+    @Enabled(false)
+    protected static class MemberCheckEvent extends PhaseEvent {
+        @Label("Class Name")
+        String className;
+        @Label("Member Kind")
+        String memberKind;
+        @Label("Target Member")
+        String targetMember;
+        @Label("Expected Member")
+        String expectedMember;
+        @Label("Matched")
+        boolean matched;
+    }
+
+    @Name("structure.StructureTest")
+    @Label("Structure Test")
+    @Description("Execution of a dynamic test of a structure test factory")
+    protected static class StructureTestEvent extends PhaseEvent {
+        @Label("Test Factory")
+        String factory;
+        @Label("Class Name")
+        String className;
+        @Label("Passed")
+        boolean passed;
+    }
+
+    @Name("structure.AccessorTest")
+    @Label("Getter/Setter Test")
+    @Description("Execution of a dynamic getter or setter test")
+    protected static class AccessorTestEvent extends PhaseEvent {
+        @Label("Class Name")
+        String className;
+        @Label("Method Name")
+        String methodName;
+        @Label("Passed")
+        boolean passed;
+    }
+
+    @Name("structure.PhaseSummary")
+    @Label("Structure Phase Summary")
+    @Description("Total duration of the recorded events per phase since the start of the JVM, phases nest")
+    @Category({"Structure Tests"})
+    @Period("1 s")
+    @StackTrace(false)
+    protected static class PhaseSummaryEvent extends Event {
+        @Label("Parsing")
+        @Timespan
+        long parse;
+        @Label("Class Resolution")
+        @Timespan
+        long resolve;
+        @Label("Class Verification")
+        @Timespan
+        long verify;
+        @Label("Member Checks")
+        @Timespan
+        long memberCheck;
+        @Label("Structure Tests")
+        @Timespan
+        long structureTest;
+        @Label("Getter/Setter Tests")
+        @Timespan
+        long accessorTest;
+        @Label("Verified Classes")
+        long verifiedClasses;
+        @Label("Member Checks Count")
+        long memberChecks;
+    }
+}
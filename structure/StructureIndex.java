@@ -0,0 +1,392 @@
+package youPackage.structure;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import static de.tum.cit.fop.structure.StructureParser.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.1 (16.10.2026)
+ * <br><br>
+ * Index of the class entries of the structure file. Only the package and the name of every entry are read up front,
+ * the JSONClass object of an entry is created when it is first requested. A test run that selects a single class
+ * therefore only reads the entry of this class.
+ * <p></p>
+ * The index is built from the record offsets of the binary cache ({@link StructureSpecCache}) if the cache is up to
+ * date. Otherwise the JSON file is scanned as a stream for the boundaries of the class entries without building a
+ * DOM. Only the byte offsets of the entries are kept, and the bytes of an entry are read again from the file when the
+ * entry is requested, so the raw structure text is never held in memory as a whole. The structure file must therefore
+ * not change during the test run. The cache is then written by {@link #writeCache()} once all entries have been
+ * requested, so a filtered run never parses the whole structure file.
+ */
+class StructureIndex {
+    private static final Logger LOGGER = Logger.getLogger("structure");
+
+    private final Path jsonFile;
+    private final byte[] hash;
+    private final boolean cached;
+    private final boolean filtered;
+    private final List<Entry> entries;
+
+    private StructureIndex(Path jsonFile, byte[] hash, boolean cached, boolean filtered, List<Entry> entries) {
+        this.jsonFile = jsonFile;
+        this.hash = hash;
+        this.cached = cached;
+        this.filtered = filtered;
+        this.entries = entries;
+    }
+
+    /**
+     * Builds the index of the given structure file.
+     *
+     * @param jsonFile Path to the JSON structure file.
+     * @param filter   Simple or fully qualified names of the classes to index, null to index all classes.
+     * @return Index of the class entries in the order of the structure file.
+     * @throws IOException            thrown if the structure file could not be read.
+     * @throws ClassNotFoundException thrown if the structure file is not an array of class entries.
+     */
+    protected static StructureIndex load(Path jsonFile, Set<String> filter) throws IOException,
+                                                                                 ClassNotFoundException {
+        StructureEvents.ParseEvent event = new StructureEvents.ParseEvent();
+        event.start();
+        byte[] hash = StructureSpecCache.hash(jsonFile);
+
+        List<Entry> entries = indexCache(StructureSpecCache.map(StructureSpecCache.cacheFileFor(jsonFile), hash));
+        boolean cached = entries != null;
+        if (!cached) {
+            try (InputStream in = Files.newInputStream(jsonFile)) {
+                entries = new JSONScanner(jsonFile, in).scan();
+            }
+        }
+        if (filter != null) {
+            entries = entries.stream()
+                             .filter(entry -> filter.contains(entry.name) ||
+                                              filter.contains(entry.packageName + "." + entry.name))
+                             .toList();
+        }
+
+        event.file = jsonFile.toString();
+        event.classCount = entries.size();
+        event.cached = cached;
+        event.finish(StructureEvents.Phase.PARSE);
+        return new StructureIndex(jsonFile, hash, cached, filter != null, entries);
+    }
+
+    protected List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * Writes the binary cache if it was missing or outdated and every class entry of the structure file was
+     * requested. A filtered index never writes the cache, as it does not contain every class entry. Failing to write
+     * the cache is only logged.
+     */
+    protected void writeCache() {
+        if (cached || filtered || entries.stream().anyMatch(entry -> !entry.isLoaded())) {
+            return;
+        }
+        try {
+            List<JSONClass> classes = new ArrayList<>(entries.size());
+            for (Entry entry : entries) {
+                classes.add(entry.get());
+            }
+            StructureSpecCache.write(StructureSpecCache.cacheFileFor(jsonFile), hash, classes);
+        } catch (IOException | ClassNotFoundException | SecurityException e) {
+            LOGGER.warning("Could not write the structure cache: " + e.getMessage());
+        }
+    }
+
+    private static List<Entry> indexCache(ByteBuffer buffer) {
+        if (buffer == null) {
+            return null;
+        }
+        try {
+            List<Entry> entries = new ArrayList<>();
+            for (int offset : StructureSpecCache.readOffsets(buffer)) {
+                // Every record starts with the package and the name of the class.
+                ByteBuffer record = buffer.duplicate().position(offset);
+                String packageName = StructureSpecCache.readString(record);
+                String name = StructureSpecCache.readString(record);
+                entries.add(new Entry(packageName, name, () -> StructureSpecCache.readClass(
+                        buffer.duplicate().position(offset))));
+            }
+            return entries;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            LOGGER.warning("Ignoring the corrupted structure cache: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Class entry of the index, the JSONClass object is created on the first call of {@link #get()}.
+     */
+    protected static class Entry {
+        final String packageName;
+        final String name;
+        private ClassReader reader;
+        private volatile JSONClass cl;
+
+        public Entry(String packageName, String name, ClassReader reader) {
+            this.packageName = packageName;
+            this.name = name;
+            this.reader = reader;
+        }
+
+        /**
+         * Returns the expected class of the entry, the entry is read on the first call.
+         *
+         * @throws ClassNotFoundException thrown if the entry does not contain a correctly defined class.
+         */
+        protected JSONClass get() throws ClassNotFoundException {
+            JSONClass result = cl;
+            if (result == null) {
+                synchronized (this) {
+                    result = cl;
+                    if (result == null) {
+                        result = reader.read();
+                        cl = result;
+                        // Releases the reader, it may reference the content of the structure file.
+                        reader = null;
+                    }
+                }
+            }
+            return result;
+        }
+
+        protected boolean isLoaded() {
+            return cl != null;
+        }
+    }
+
+    @FunctionalInterface
+    protected interface ClassReader {
+        JSONClass read() throws ClassNotFoundException;
+    }
+
+    /**
+     * Reads the class entry between the given byte offsets of the structure file and parses it.
+     */
+    private static JSONClass readEntry(Path jsonFile, long start, long end) throws ClassNotFoundException {
+        byte[] content = new byte[Math.toIntExact(end - start)];
+        try (FileChannel channel = FileChannel.open(jsonFile)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new EOFException("The structure file ended before the class entry.");
+                }
+            }
+        } catch (IOException e) {
+            throw new ClassNotFoundException("Could not read the class entry of the structure file: " +
+                                             e.getMessage(), e);
+        }
+        try {
+            return extractClassFromJSON(new JSONObject(new String(content, StandardCharsets.UTF_8)));
+        } catch (JSONException e) {
+            throw new ClassNotFoundException("Invalid class entry in the structure file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Finds the class entries of the JSON structure file and reads the package and the name of every entry. The
+     * scanner only tracks strings and nesting, the structural characters of JSON are ASCII and never occur inside
+     * the multibyte sequences of UTF-8, so the bytes do not have to be decoded. The file is read through a small
+     * buffer, only the strings of the keys, packages and names are copied.
+     */
+    private static class JSONScanner {
+        private static final int END = -1;
+
+        private final Path jsonFile;
+        private final InputStream in;
+        private final byte[] buffer = new byte[8192];
+        private int limit;
+        private int index;
+        // Offset of the first byte of the buffer in the structure file.
+        private long bufferOffset;
+
+        JSONScanner(Path jsonFile, InputStream in) {
+            this.jsonFile = jsonFile;
+            this.in = in;
+        }
+
+        List<Entry> scan() throws IOException, ClassNotFoundException {
+            List<Entry> entries = new ArrayList<>();
+            expect('[');
+            if (peek() == ']') {
+                return entries;
+            }
+            do {
+                if (peek() != '{') {
+                    throw syntaxError("A class entry must be a JSONObject");
+                }
+                long start = position();
+                String[] packageAndName = new String[2];
+                scanEntry(packageAndName);
+                long end = position();
+                entries.add(new Entry(packageAndName[0], packageAndName[1], () -> readEntry(jsonFile, start, end)));
+            } while (nextIf(','));
+            expect(']');
+            return entries;
+        }
+
+        // Skips the class entry and picks the package and the name from its "class" object.
+        private void scanEntry(String[] packageAndName) throws IOException, ClassNotFoundException {
+            expect('{');
+            if (nextIf('}')) {
+                return;
+            }
+            do {
+                String key = readString();
+                expect(':');
+                if ("class".equals(key) && peek() == '{') {
+                    scanClassObject(packageAndName);
+                } else {
+                    skipValue();
+                }
+            } while (nextIf(','));
+            expect('}');
+        }
+
+        private void scanClassObject(String[] packageAndName) throws IOException, ClassNotFoundException {
+            expect('{');
+            if (nextIf('}')) {
+                return;
+            }
+            do {
+                String key = readString();
+                expect(':');
+                if (("package".equals(key) || "name".equals(key)) && peek() == '"') {
+                    packageAndName["package".equals(key) ? 0 : 1] = readString();
+                } else {
+                    skipValue();
+                }
+            } while (nextIf(','));
+            expect('}');
+        }
+
+        private void skipValue() throws IOException, ClassNotFoundException {
+            int depth = 0;
+            do {
+                int c = skipWhitespace();
+                if (c == '"') {
+                    skipString(null);
+                    continue;
+                }
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                } else if (depth == 0) {
+                    // Literal at the top level, e.g. a number or true.
+                    while ((c = current()) != END && ",}] \t\r\n".indexOf(c) < 0) {
+                        index++;
+                    }
+                    return;
+                }
+                index++;
+            } while (depth > 0);
+        }
+
+        // Skips the string at the current position, its raw content is copied to the given stream if it is not null.
+        private void skipString(ByteArrayOutputStream content) throws IOException, ClassNotFoundException {
+            expect('"');
+            int c;
+            while ((c = current()) != '"') {
+                if (c == '\\') {
+                    append(content, c);
+                    index++;
+                    c = current();
+                }
+                if (c == END) {
+                    throw syntaxError("Unterminated string");
+                }
+                append(content, c);
+                index++;
+            }
+            index++;
+        }
+
+        private static void append(ByteArrayOutputStream content, int c) {
+            if (content != null) {
+                content.write(c);
+            }
+        }
+
+        private String readString() throws IOException, ClassNotFoundException {
+            skipWhitespace();
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            skipString(content);
+            String raw = content.toString(StandardCharsets.UTF_8);
+            // Strings without escapes are decoded directly, the rare escaped ones by the JSON parser.
+            if (raw.indexOf('\\') >= 0) {
+                return new JSONObject("{\"v\":\"" + raw + "\"}").getString("v");
+            }
+            return raw;
+        }
+
+        // Returns the byte at the current position without consuming it, END at the end of the file.
+        private int current() throws IOException {
+            if (index == limit) {
+                bufferOffset += limit;
+                index = 0;
+                limit = Math.max(in.read(buffer), 0);
+                if (limit == 0) {
+                    return END;
+                }
+            }
+            return buffer[index] & 0xFF;
+        }
+
+        private long position() {
+            return bufferOffset + index;
+        }
+
+        private int skipWhitespace() throws IOException, ClassNotFoundException {
+            int c;
+            while ((c = current()) != END && Character.isWhitespace(c)) {
+                index++;
+            }
+            if (c == END) {
+                throw syntaxError("Unexpected end of the structure file");
+            }
+            return c;
+        }
+
+        private int peek() throws IOException, ClassNotFoundException {
+            return skipWhitespace();
+        }
+
+        private boolean nextIf(char c) throws IOException, ClassNotFoundException {
+            if (peek() == c) {
+                index++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) throws IOException, ClassNotFoundException {
+            if (!nextIf(c)) {
+                throw syntaxError("Expected '" + c + "'");
+            }
+        }
+
+        private ClassNotFoundException syntaxError(String message) {
+            return new ClassNotFoundException(message + " at byte " + position() + " of the structure file.");
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package youPackage.structure;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.2 (16.10.2026)
+ * <br><br>
+ * Launcher for one-shot grading containers that starts the grading JVM from an application class-data-sharing (AppCDS)
+ * archive. A training run records the classes the workload loads into the archive, later runs map them from the
+ * archive instead of loading and verifying them again.
+ * <p></p>
+ * Usage: {@code java youPackage.structure.StructureLauncher <train|run|measure> [--archive file] [--runs n]
+ * [<test.json> <submission>... | -- <main class> [args...]]}
+ * <ul>
+ *     <li>{@code train} runs the workload once and writes the archive when the JVM exits.</li>
+ *     <li>{@code run} runs the workload from the archive, or without it if it does not exist.</li>
+ *     <li>{@code measure} runs the workload several times with and without the archive and reports the median wall
+ *     time of both.</li>
+ * </ul>
+ * The workload is the {@link BatchStructureRunner} with the given structure file and submissions, by default
+ * 'test-example.json' and an empty submission. It records the structure tests, org.json and the JUnit API and AssertJ
+ * classes of the getter/setter tests, but not the JUnit Platform launcher and engine, because the batch runner
+ * executes the tests without them. A reference solution as submission records the classes of the reflective checks
+ * too. Any other main class can be given after "--", e.g. the JUnit console launcher with the structure tests to
+ * record the JUnit Platform as well. The workload runs with the class path and the "structure.*" system properties of
+ * the launcher. The class path may only contain jar files and has to be the same for the training and the later runs.
+ */
+class StructureLauncher {
+    private static final Path DEFAULT_ARCHIVE = Path.of("structure.jsa");
+    private static final Path DEFAULT_STRUCTURE_FILE = Path.of("test-example.json");
+    private static final int DEFAULT_RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            printUsage();
+        }
+        String mode = args[0];
+        Path archive = DEFAULT_ARCHIVE;
+        int runs = DEFAULT_RUNS;
+        int index = 1;
+        while (index < args.length && args[index].startsWith("--") && !args[index].equals("--")) {
+            switch (args[index++]) {
+                case "--archive" -> archive = Path.of(args[index++]);
+                case "--runs" -> runs = Integer.parseInt(args[index++]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[index - 1] + ".");
+            }
+        }
+        if (runs < 1) {
+            throw new IllegalArgumentException("The number of runs has to be at least 1, got " + runs + ".");
+        }
+        List<String> workload = workload(Arrays.asList(args).subList(index, args.length));
+
+        switch (mode) {
+            case "train" -> train(archive, workload);
+            case "run" -> System.exit(launch(archiveOptions(archive), workload, true));
+            case "measure" -> measure(archive, workload, runs);
+            default -> printUsage();
+        }
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: StructureLauncher <train|run|measure> [--archive file] [--runs n] " +
+                           "[<path/to/test.json> <submission>... | -- <main class> [args...]]");
+        System.exit(1);
+    }
+
+    /**
+     * Returns the main class and the arguments of the workload.
+     */
+    private static List<String> workload(List<String> args) throws IOException {
+        if (!args.isEmpty() && args.get(0).equals("--")) {
+            if (args.size() < 2) {
+                printUsage();
+            }
+            return args.subList(1, args.size());
+        }
+        List<String> workload = new ArrayList<>();
+        workload.add(BatchStructureRunner.class.getName());
+        if (args.isEmpty()) {
+            // Without a submission every class is reported as missing, the parsing and reporting are still trained.
+            workload.add(DEFAULT_STRUCTURE_FILE.toString());
+            Path emptySubmission = Files.createTempDirectory("structure-launcher");
+            emptySubmission.toFile().deleteOnExit();
+            workload.add(emptySubmission.toString());
+        } else {
+            workload.addAll(args);
+        }
+        return workload;
+    }
+
+    private static void train(Path archive, List<String> workload) throws IOException, InterruptedException {
+        // The JVM refuses to create an archive if the class path contains a non-empty directory.
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path path = Path.of(entry);
+            if (Files.isDirectory(path) && isNotEmpty(path)) {
+                System.err.println("The class path entry " + entry + " is a directory, package it as a jar file.");
+                System.exit(1);
+            }
+        }
+        Files.deleteIfExists(archive);
+        int exitCode = launch(List.of("-XX:ArchiveClassesAtExit=" + archive), workload, true);
+        if (exitCode != 0 || !Files.exists(archive)) {
+            System.err.println("The training run failed with exit code " + exitCode + ", no archive was written.");
+            System.exit(exitCode == 0 ? 1 : exitCode);
+        }
+        System.err.printf("Wrote the archive %s (%.1f MiB).%n", archive, Files.size(archive) / (1024.0 * 1024.0));
+    }
+
+    private static boolean isNotEmpty(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findAny().isPresent();
+        }
+    }
+
+    private static void measure(Path archive, List<String> workload, int runs)
+            throws IOException, InterruptedException {
+        if (!Files.exists(archive)) {
+            System.err.println("The archive " + archive + " does not exist, create it with \"train\" first.");
+            System.exit(1);
+        }
+        // Alternating the runs spreads disturbances like a warming file system cache over both variants.
+        long[] coldMillis = new long[runs];
+        long[] archiveMillis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            coldMillis[i] = timedLaunch(List.of(), workload);
+            archiveMillis[i] = timedLaunch(archiveOptions(archive), workload);
+        }
+        long cold = median(coldMillis);
+        long archived = median(archiveMillis);
+        System.out.println("Cold start:   median " + cold + " ms " + Arrays.toString(coldMillis));
+        System.out.println("AppCDS start: median " + archived + " ms " + Arrays.toString(archiveMillis));
+        System.out.printf("Speedup: %.2fx (%d ms saved per run)%n", (double) cold / archived, cold - archived);
+    }
+
+    private static List<String> archiveOptions(Path archive) {
+        if (!Files.exists(archive)) {
+            System.err.println("The archive " + archive + " does not exist, starting without it.");
+            return List.of();
+        }
+        return List.of("-XX:SharedArchiveFile=" + archive);
+    }
+
+    private static long timedLaunch(List<String> jvmOptions, List<String> workload)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        int exitCode = launch(jvmOptions, workload, false);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        if (exitCode != 0) {
+            throw new IllegalStateException("The workload failed with exit code " + exitCode + ".");
+        }
+        return millis;
+    }
+
+    /**
+     * Starts the workload in a new JVM with the class path and the structure properties of this JVM.
+     *
+     * @param jvmOptions Additional options of the JVM.
+     * @param workload   Main class and arguments.
+     * @param inheritIO  True to show the output of the workload, otherwise it is discarded.
+     * @return The exit code of the workload.
+     */
+    private static int launch(List<String> jvmOptions, List<String> workload, boolean inheritIO)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        System.getProperties().stringPropertyNames().stream()
+              .filter(name -> name.startsWith("structure."))
+              .forEach(name -> command.add("-D" + name + "=" + System.getProperty(name)));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.addAll(workload);
+
+        ProcessBuilder builder = new ProcessBuilder(command);
+        if (inheritIO) {
+            builder.inheritIO();
+        } else {
+            builder.redirectOutput(ProcessBuilder.Redirect.DISCARD).redirectError(ProcessBuilder.Redirect.DISCARD);
+        }
+        return builder.start().waitFor();
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,122 @@
+package youPackage.structure;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import static de.tum.cit.fop.structure.ClassMetadata.*;
+import static de.tum.cit.fop.structure.StructureParser.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.0 (16.10.2026)
+ * <br><br>
+ * This class matches the declared members of the target class against the expected members of the structure file.
+ * The expected members are indexed by arity and name, so every target member is only compared with the expected
+ * members that can match it, the comparison itself is done by the {@link StructureChecker}.
+ */
+class StructureMatcher {
+    private static final int NO_ARITY = -1;
+
+    /**
+     * Matches the target fields against the expected attributes, attributes are indexed by name only.
+     */
+    protected static MatchResult<JSONAttribute> matchAttributes(List<MemberMetadata> targetFields,
+                                                               List<JSONAttribute> expectedAttributes) {
+        return match(targetFields, field -> field.name, field -> NO_ARITY, expectedAttributes,
+                     attribute -> attribute.name, attribute -> NO_ARITY, StructureChecker::attributeCheck);
+    }
+
+    /**
+     * Matches the target constructors against the expected constructors, constructors are indexed by arity only.
+     */
+    protected static MatchResult<JSONConstructor> matchConstructors(List<MemberMetadata> targetConstructors,
+                                                                   List<JSONConstructor> expectedConstructors) {
+        return match(targetConstructors, constructor -> null, constructor -> constructor.parameterCount,
+                     expectedConstructors,
+                     constructor -> null, constructor -> constructor.parametersTypes.size(),
+                     StructureChecker::constructorsCheck);
+    }
+
+    /**
+     * Matches the target methods against the expected methods, methods are indexed by arity and name.
+     */
+    protected static MatchResult<JSONMethod> matchMethods(List<MemberMetadata> targetMethods,
+                                                         List<JSONMethod> expectedMethods) {
+        return match(targetMethods, method -> method.name, method -> method.parameterCount, expectedMethods,
+                     method -> method.name, method -> method.parameters.size(), StructureChecker::methodCheck);
+    }
+
+    /**
+     * Buckets the expected members by arity and name, expected members without a name match any target member with
+     * the same arity. Every target member is then checked only against the members of its buckets.
+     *
+     * @return The number of target members that match at least one expected member and the expected members that
+     * were found.
+     */
+    private static <E> MatchResult<E> match(List<MemberMetadata> targets,
+                                            Function<MemberMetadata, String> targetName,
+                                            ToIntFunction<MemberMetadata> targetArity, List<E> expected,
+                                            Function<E, String> expectedName, ToIntFunction<E> expectedArity,
+                                            BiFunction<MemberMetadata, E, E> check) {
+        Map<Integer, Map<String, List<E>>> named = new HashMap<>();
+        Map<Integer, List<E>> unnamed = new HashMap<>();
+        for (E entry : expected) {
+            String name = expectedName.apply(entry);
+            int arity = expectedArity.applyAsInt(entry);
+            if (name == null) {
+                unnamed.computeIfAbsent(arity, key -> new ArrayList<>()).add(entry);
+            } else {
+                named.computeIfAbsent(arity, key -> new HashMap<>())
+                     .computeIfAbsent(name, key -> new ArrayList<>())
+                     .add(entry);
+            }
+        }
+
+        int targetsMatched = 0;
+        List<E> expectedFound = new LinkedList<>();
+        for (MemberMetadata target : targets) {
+            int arity = targetArity.applyAsInt(target);
+            boolean matched = false;
+            Map<String, List<E>> sameArity = named.get(arity);
+            if (sameArity != null) {
+                matched = checkCandidates(target, sameArity.get(targetName.apply(target)), check, expectedFound);
+            }
+            matched |= checkCandidates(target, unnamed.get(arity), check, expectedFound);
+            if (matched) {
+                targetsMatched++;
+            }
+        }
+        return new MatchResult<>(targetsMatched, expectedFound);
+    }
+
+    private static <E> boolean checkCandidates(MemberMetadata target, List<E> candidates,
+                                               BiFunction<MemberMetadata, E, E> check, List<E> expectedFound) {
+        if (candidates == null) {
+            return false;
+        }
+        boolean matched = false;
+        for (E candidate : candidates) {
+            if (check.apply(target, candidate) != null) {
+                expectedFound.add(candidate);
+                matched = true;
+            }
+        }
+        return matched;
+    }
+
+    protected static class MatchResult<E> {
+        int targetsMatched;
+        List<E> expectedFound;
+
+        public MatchResult(int targetsMatched, List<E> expectedFound) {
+            this.targetsMatched = targetsMatched;
+            this.expectedFound = expectedFound;
+        }
+    }
+}
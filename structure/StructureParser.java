@@ -5,16 +5,18 @@ import org.json.JSONObject;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.lang.reflect.Modifier;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * @author Ivan Parmacli (ivan.parmacli@proton.me)
- * @version 1.0 (15.10.2024)
+ * @version 1.6 (16.10.2026)
  * <br><br>
  * This class contains methods to parse JSON structure file and generate a list that contains element which represent
  * the expected structure.
@@ -26,8 +28,22 @@ class StructureParser {
     private static final String PARAMETERS_KEY = "parameters";
 
     /**
-     * This method parses the initial data of the class entry that is required to create a JSONClass object then
-     * calls other helper methods to extract the expected attributes, methods and constructors.
+     * Modifier bit that no class member has, used for modifiers that are not known to the Java reflection, so the
+     * expected member can never be matched as before.
+     */
+    protected static final int UNKNOWN_MODIFIER = 1 << 31;
+    private static final Map<String, Integer> MODIFIER_BITS = Map.ofEntries(
+            Map.entry("public", Modifier.PUBLIC), Map.entry("protected", Modifier.PROTECTED),
+            Map.entry("private", Modifier.PRIVATE), Map.entry("abstract", Modifier.ABSTRACT),
+            Map.entry("static", Modifier.STATIC), Map.entry("final", Modifier.FINAL),
+            Map.entry("transient", Modifier.TRANSIENT), Map.entry("volatile", Modifier.VOLATILE),
+            Map.entry("synchronized", Modifier.SYNCHRONIZED), Map.entry("native", Modifier.NATIVE),
+            Map.entry("strictfp", Modifier.STRICT));
+
+    /**
+     * This method locates the 'test.json' structure file and returns the expected structure of the target project.
+     * The structure is read from the precompiled binary cache next to the structure file if the cache matches the
+     * content hash of the file, otherwise the JSON file is parsed and the cache is recompiled.
      *
      * @return A list with JSONClass objects that represent the expected structure of the target project.
      * @throws URISyntaxException     thrown if the URI can not be created from a path to the 'test.json' file.
@@ -37,56 +53,105 @@ class StructureParser {
      */
     protected static List<JSONClass> retrieveStructureFromJSON() throws URISyntaxException, IOException,
                                                                         ClassNotFoundException {
+        return StructureSpecCache.loadOrCompile(locateStructureFile());
+    }
+
+    /**
+     * This method locates the 'test.json' structure file and returns an index of its class entries, the expected
+     * structure of a class is only read when a test first requests it.
+     *
+     * @param filter Simple or fully qualified names of the classes to index, null to index all classes.
+     * @return Index of the class entries of the structure file.
+     * @throws URISyntaxException     thrown if the URI can not be created from a path to the 'test.json' file.
+     * @throws IOException            thrown if the 'test.json' is not found or could not be read.
+     * @throws ClassNotFoundException thrown if the 'test.json' is not an array of class entries.
+     */
+    protected static StructureIndex retrieveStructureIndex(Set<String> filter) throws URISyntaxException, IOException,
+                                                                                     ClassNotFoundException {
+        return StructureIndex.load(locateStructureFile(), filter);
+    }
+
+    /**
+     * This method resolves the path to the 'test.json' structure file.
+     *
+     * @return Path to the structure file.
+     * @throws URISyntaxException    thrown if the URI can not be created from a path to the 'test.json' file.
+     * @throws FileNotFoundException thrown if the 'test.json' is not found.
+     */
+    protected static Path locateStructureFile() throws URISyntaxException, FileNotFoundException {
         URL jsonFileURL = de.tum.cit.fop.structure.StructureTest.class.getResource("../test.json");
         if (jsonFileURL == null) {
             throw new FileNotFoundException("Could not find the structure file, make sure that it exists!");
         }
-        JSONArray input = new JSONArray(
-                Files.readString(Path.of(jsonFileURL.toURI())));
+        return Path.of(jsonFileURL.toURI());
+    }
+
+    /**
+     * This method parses the content of the structure file and collects the expected structure of every class entry.
+     *
+     * @param json Content of the JSON structure file.
+     * @return A list with JSONClass objects that represent the expected structure of the target project.
+     * @throws ClassNotFoundException thrown if the structure contains an invalid entry, where the class is defined
+     *                                incorrectly.
+     */
+    protected static List<JSONClass> parseStructure(String json) throws ClassNotFoundException {
+        JSONArray input = new JSONArray(json);
         List<JSONClass> output = new LinkedList<>();
         for (Object o : input) {
             // Select first entry in the json array. Basically the first class.
-            JSONObject jsonObject = (JSONObject) o;
+            output.add(extractClassFromJSON((JSONObject) o));
+        }
+        return output;
+    }
 
-            // Collect class general data.
-            JSONObject classObj = jsonObject.has("class") ? jsonObject.getJSONObject("class") : null;
-            if (classObj == null) {
-                throw new ClassNotFoundException(
-                        "JSON structure file should include the correct class entry for the tests to be executed.");
-            }
+    /**
+     * This method parses the initial data of the class entry that is required to create a JSONClass object then
+     * calls other helper methods to extract the expected attributes, methods and constructors.
+     *
+     * @param jsonObject JSON object of a single class entry of the structure file.
+     * @return JSONClass object that represents the expected structure of the class.
+     * @throws ClassNotFoundException thrown if the entry does not contain a correctly defined class.
+     */
+    protected static JSONClass extractClassFromJSON(JSONObject jsonObject) throws ClassNotFoundException {
+        // Collect class general data.
+        JSONObject classObj = jsonObject.has("class") ? jsonObject.getJSONObject("class") : null;
+        if (classObj == null) {
+            throw new ClassNotFoundException(
+                    "JSON structure file should include the correct class entry for the tests to be executed.");
+        }
 
-            String className = classObj.has(NAME_KEY) ? classObj.getString(NAME_KEY) : null;
-            String classPackage = classObj.has("package") ? classObj.getString("package") : null;
-            String superclass = classObj.has("superclass") ? classObj.getString("superclass") : null;
-            boolean isInterface = classObj.has("isInterface") && classObj.getBoolean("isInterface");
-            boolean isEnum = classObj.has("isEnum") && classObj.getBoolean("isEnum");
-            boolean isAbstract = classObj.has("isAbstract") && classObj.getBoolean("isAbstract");
-            boolean skip = classObj.has("skip") && classObj.getBoolean("skip");
+        String className = classObj.has(NAME_KEY) ? classObj.getString(NAME_KEY) : null;
+        String classPackage = classObj.has("package") ? classObj.getString("package") : null;
+        String superclass = classObj.has("superclass") ? classObj.getString("superclass") : null;
+        List<String> interfaces = classObj.has("interfaces") ? classObj.getJSONArray("interfaces").toList().stream()
+                                                                       .map(obj -> (String) obj).toList() : null;
+        boolean isInterface = classObj.has("isInterface") && classObj.getBoolean("isInterface");
+        boolean isEnum = classObj.has("isEnum") && classObj.getBoolean("isEnum");
+        boolean isAbstract = classObj.has("isAbstract") && classObj.getBoolean("isAbstract");
+        boolean skip = classObj.has("skip") && classObj.getBoolean("skip");
+        boolean inherited = classObj.has("inherited") && classObj.getBoolean("inherited");
 
-            // Collect enum values if the class is Enum.
-            JSONArray enumValues = jsonObject.has("enumValues") ? jsonObject.getJSONArray("enumValues") : null;
-            List<String> enumValuesString = null;
-            if (enumValues != null) {
-                enumValuesString = enumValues.toList().stream().map(obj -> (String) obj).toList();
-            }
+        // Collect enum values if the class is Enum.
+        JSONArray enumValues = jsonObject.has("enumValues") ? jsonObject.getJSONArray("enumValues") : null;
+        List<String> enumValuesString = null;
+        if (enumValues != null) {
+            enumValuesString = enumValues.toList().stream().map(obj -> (String) obj).toList();
+        }
 
-            // Collect class constructors.
-            List<JSONConstructor> jsonConstructors = extractConstructorsFromJSON(
-                    jsonObject.has("constructors") ? jsonObject.getJSONArray("constructors") : null);
+        // Collect class constructors.
+        List<JSONConstructor> jsonConstructors = extractConstructorsFromJSON(
+                jsonObject.has("constructors") ? jsonObject.getJSONArray("constructors") : null);
 
-            // Collect class attributes.
-            List<JSONAttribute> jsonAttributes = extractAttributesFromJSON(
-                    jsonObject.has("attributes") ? jsonObject.getJSONArray("attributes") : null);
+        // Collect class attributes.
+        List<JSONAttribute> jsonAttributes = extractAttributesFromJSON(
+                jsonObject.has("attributes") ? jsonObject.getJSONArray("attributes") : null);
 
-            // Collect class methods.
-            List<JSONMethod> jsonMethods = extractMethodsFromJSON(
-                    jsonObject.has("methods") ? jsonObject.getJSONArray("methods") : null);
+        // Collect class methods.
+        List<JSONMethod> jsonMethods = extractMethodsFromJSON(
+                jsonObject.has("methods") ? jsonObject.getJSONArray("methods") : null);
 
-            output.add(new JSONClass(classPackage, className, superclass, isInterface, isEnum, isAbstract, skip,
-                                     enumValuesString, null, jsonMethods, jsonConstructors,
-                                     jsonAttributes));
-        }
-        return output;
+        return new JSONClass(classPackage, className, superclass, interfaces, isInterface, isEnum, isAbstract, skip,
+                             inherited, enumValuesString, null, jsonMethods, jsonConstructors, jsonAttributes);
     }
 
     /**
@@ -177,80 +242,129 @@ class StructureParser {
         return new LinkedList<>();
     }
 
+    /**
+     * This method compiles the list of expected modifiers into a bit mask that can be compared with the result of
+     * {@code getModifiers()} of the target member.
+     *
+     * @param modifiers List of the expected modifiers, e.g. "public", "static".
+     * @return Bit mask of the modifiers as defined by {@link Modifier}.
+     */
+    protected static int modifierMask(List<String> modifiers) {
+        int mask = 0;
+        for (String modifier : modifiers) {
+            mask |= MODIFIER_BITS.getOrDefault(modifier, UNKNOWN_MODIFIER);
+        }
+        return mask;
+    }
+
+    /**
+     * The classes below represent the expected structure. They are immutable, so the same structure can be verified
+     * by concurrently running tests. The type names are parsed into {@link TypeSignature} objects and the checks
+     * are compiled into a {@link MemberMatcher} once per entry.
+     */
     protected static class JSONClass {
-        String packageName;
-        String name;
-        String superclass;
-        boolean isInterface;
-        boolean isEnum;
-        boolean isAbstract;
-        boolean skip;
-        List<String> enumValues;
-        List<String> annotations;
-        List<JSONMethod> methods;
-        List<JSONConstructor> constructors;
-        List<JSONAttribute> attributes;
+        final String packageName;
+        final String name;
+        final String superclass;
+        // Simple names of the expected interfaces, null if they are not checked.
+        final List<String> interfaces;
+        final boolean isInterface;
+        final boolean isEnum;
+        final boolean isAbstract;
+        final boolean skip;
+        // True if the superclass, the interfaces, the attributes and the methods may also be inherited from a
+        // supertype, see TypeHierarchy.
+        final boolean inherited;
+        final List<String> enumValues;
+        final List<String> annotations;
+        final List<JSONMethod> methods;
+        final List<JSONConstructor> constructors;
+        final List<JSONAttribute> attributes;
 
-        public JSONClass(String packageName, String name, String superclass, boolean isInterface,
-                         boolean isEnum, boolean isAbstract, boolean skip, List<String> enumValues,
+        public JSONClass(String packageName, String name, String superclass, List<String> interfaces,
+                         boolean isInterface, boolean isEnum, boolean isAbstract, boolean skip, boolean inherited,
+                         List<String> enumValues,
                          List<String> annotations, List<JSONMethod> methods,
                          List<JSONConstructor> constructors,
                          List<JSONAttribute> attributes) {
             this.packageName = packageName;
             this.name = name;
             this.superclass = superclass;
+            this.interfaces = interfaces == null ? null : List.copyOf(interfaces);
             this.isInterface = isInterface;
             this.isAbstract = isAbstract;
             this.isEnum = isEnum;
             this.skip = skip;
-            this.enumValues = enumValues;
-            this.annotations = annotations;
-            this.methods = methods;
-            this.constructors = constructors;
-            this.attributes = attributes;
+            this.inherited = inherited;
+            this.enumValues = enumValues == null ? null : List.copyOf(enumValues);
+            this.annotations = annotations == null ? null : List.copyOf(annotations);
+            this.methods = List.copyOf(methods);
+            this.constructors = List.copyOf(constructors);
+            this.attributes = List.copyOf(attributes);
         }
     }
 
     protected static class JSONMethod {
-        String name;
-        String returnType;
-        List<String> modifiers;
-        List<String> parameters;
-        List<String> annotations;
+        final String name;
+        final String returnType;
+        final TypeSignature returnTypeSignature;
+        final List<String> modifiers;
+        final int modifierMask;
+        final List<String> parameters;
+        final List<TypeSignature> parameterSignatures;
+        final List<String> annotations;
+        final MemberMatcher matcher;
 
         public JSONMethod(String name, String returnType, List<String> modifiers, List<String> parameters,
                           List<String> annotations) {
             this.name = name;
             this.returnType = returnType;
-            this.modifiers = modifiers;
-            this.parameters = parameters;
-            this.annotations = annotations;
+            this.returnTypeSignature = TypeSignature.parseExpected(returnType);
+            this.modifiers = List.copyOf(modifiers);
+            this.modifierMask = modifierMask(modifiers);
+            this.parameters = List.copyOf(parameters);
+            this.parameterSignatures = TypeSignature.parseExpected(this.parameters);
+            this.annotations = List.copyOf(annotations);
+            this.matcher = new MemberMatcher(name, returnTypeSignature, modifierMask, parameterSignatures,
+                                             this.annotations);
         }
     }
 
     protected static class JSONAttribute {
-        String name;
-        String type;
-        List<String> modifiers;
-        List<String> annotations;
+        final String name;
+        final String type;
+        final TypeSignature typeSignature;
+        final List<String> modifiers;
+        final int modifierMask;
+        final List<String> annotations;
+        final MemberMatcher matcher;
 
         public JSONAttribute(String name, String type, List<String> modifiers, List<String> annotations) {
             this.name = name;
             this.type = type;
-            this.modifiers = modifiers;
-            this.annotations = annotations;
+            this.typeSignature = TypeSignature.parseExpected(type);
+            this.modifiers = List.copyOf(modifiers);
+            this.modifierMask = modifierMask(modifiers);
+            this.annotations = List.copyOf(annotations);
+            this.matcher = new MemberMatcher(name, typeSignature, modifierMask, null, this.annotations);
         }
     }
 
     protected static class JSONConstructor {
-        List<String> modifiers;
-        List<String> parametersTypes;
-        List<String> annotations;
+        final List<String> modifiers;
+        final int modifierMask;
+        final List<String> parametersTypes;
+        final List<TypeSignature> parameterSignatures;
+        final List<String> annotations;
+        final MemberMatcher matcher;
 
         public JSONConstructor(List<String> modifiers, List<String> parametersTypes, List<String> annotations) {
-            this.annotations = annotations;
-            this.modifiers = modifiers;
-            this.parametersTypes = parametersTypes;
+            this.annotations = List.copyOf(annotations);
+            this.modifiers = List.copyOf(modifiers);
+            this.modifierMask = modifierMask(modifiers);
+            this.parametersTypes = List.copyOf(parametersTypes);
+            this.parameterSignatures = TypeSignature.parseExpected(this.parametersTypes);
+            this.matcher = new MemberMatcher(null, null, modifierMask, parameterSignatures, this.annotations);
         }
     }
 }
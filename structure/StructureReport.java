@@ -0,0 +1,104 @@
+package youPackage.structure;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.1 (16.10.2026)
+ * <br><br>
+ * Result of the verification of one expected class, contains every mismatch between the expected structure and the
+ * target class. The structure tests are views over this report and the report can be written out as JSON.
+ */
+class StructureReport {
+    final String className;
+    final boolean found;
+    final boolean skipped;
+    final List<Mismatch> mismatches;
+
+    public StructureReport(String className, boolean found, boolean skipped, List<Mismatch> mismatches) {
+        this.className = className;
+        this.found = found;
+        this.skipped = skipped;
+        this.mismatches = List.copyOf(mismatches);
+    }
+
+    /**
+     * Returns the mismatches of the given category in the order they were found.
+     */
+    protected List<Mismatch> mismatches(Category category) {
+        return mismatches.stream().filter(mismatch -> mismatch.category == category).toList();
+    }
+
+    protected boolean passed() {
+        return mismatches.isEmpty();
+    }
+
+    protected JSONObject toJSON() {
+        JSONArray mismatchArray = new JSONArray();
+        for (Mismatch mismatch : mismatches) {
+            mismatchArray.put(new JSONObject().put("category", mismatch.category.name())
+                                              .put("message", mismatch.message));
+        }
+        return new JSONObject().put("class", className)
+                               .put("found", found)
+                               .put("skipped", skipped)
+                               .put("mismatches", mismatchArray);
+    }
+
+    /**
+     * Restores a report that was written by {@link #toJSON()}.
+     *
+     * @param report JSON object of the report.
+     * @return The restored report.
+     * @throws org.json.JSONException thrown if the JSON object does not describe a report.
+     */
+    protected static StructureReport fromJSON(JSONObject report) {
+        JSONArray mismatchArray = report.getJSONArray("mismatches");
+        List<Mismatch> mismatches = new ArrayList<>(mismatchArray.length());
+        for (int i = 0; i < mismatchArray.length(); i++) {
+            JSONObject mismatch = mismatchArray.getJSONObject(i);
+            mismatches.add(new Mismatch(Category.valueOf(mismatch.getString("category")),
+                                        mismatch.getString("message")));
+        }
+        return new StructureReport(report.getString("class"), report.getBoolean("found"),
+                                   report.getBoolean("skipped"), mismatches);
+    }
+
+    /**
+     * Writes the reports as a JSON array to the given file.
+     *
+     * @param reports List with the reports of the verified classes.
+     * @param file    Path to the output file.
+     * @throws IOException thrown if the file could not be written.
+     */
+    protected static void write(List<StructureReport> reports, Path file) throws IOException {
+        JSONArray output = new JSONArray();
+        reports.forEach(report -> output.put(report.toJSON()));
+        Files.writeString(file, output.toString(2), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The part of the expected structure a mismatch belongs to, every category is reported by its own structure test.
+     */
+    protected enum Category {
+        CLASS, ATTRIBUTE, CONSTRUCTOR, METHOD
+    }
+
+    protected static class Mismatch {
+        final Category category;
+        final String message;
+
+        public Mismatch(Category category, String message) {
+            this.category = category;
+            this.message = message;
+        }
+    }
+}
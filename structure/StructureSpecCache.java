@@ -0,0 +1,371 @@
+package youPackage.structure;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static de.tum.cit.fop.structure.StructureParser.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.4 (16.10.2026)
+ * <br><br>
+ * This class compiles the JSON structure file into a compact binary form that is stored next to the structure file
+ * ('test.json.bin') and keyed by the SHA-256 hash of the JSON content. The binary form is memory-mapped on load, so the
+ * JSON file is only parsed again when its content changes.
+ * <p></p>
+ * Layout: magic, version, hash, class count, offset of each class record, class records. Strings are stored as the
+ * length of the UTF-8 bytes followed by the bytes, where the length -1 stands for null. Lists are stored the same way
+ * with the element count instead of the length. The offsets allow {@link StructureIndex} to read single class records
+ * without reading the whole cache.
+ */
+class StructureSpecCache {
+    private static final Logger LOGGER = Logger.getLogger("structure");
+    private static final String CACHE_SUFFIX = ".bin";
+    private static final int MAGIC = 0x53545243;
+    private static final int VERSION = 2;
+    private static final int HASH_LENGTH = 32;
+
+    private static final int INTERFACE_FLAG = 1;
+    private static final int ENUM_FLAG = 1 << 1;
+    private static final int ABSTRACT_FLAG = 1 << 2;
+    private static final int SKIP_FLAG = 1 << 3;
+    private static final int INHERITED_FLAG = 1 << 4;
+
+    /**
+     * Precompiles the given structure file(s), can be used as a build step before the grading starts.
+     *
+     * @param args Paths to the JSON structure files.
+     */
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        if (args.length == 0) {
+            System.err.println("Usage: StructureSpecCache <path/to/test.json>...");
+            System.exit(1);
+        }
+        for (String arg : args) {
+            Path cacheFile = compile(Path.of(arg));
+            System.out.println("Compiled " + arg + " to " + cacheFile);
+        }
+    }
+
+    /**
+     * Returns the expected structure from the binary cache if it matches the content hash of the JSON file, otherwise
+     * parses the JSON file and recompiles the cache. Failing to write the cache does not fail the structure loading.
+     *
+     * @param jsonFile Path to the JSON structure file.
+     * @return A list with JSONClass objects that represent the expected structure of the target project.
+     * @throws IOException            thrown if the structure file could not be read.
+     * @throws ClassNotFoundException thrown if the structure file contains an invalid class entry.
+     */
+    protected static List<JSONClass> loadOrCompile(Path jsonFile) throws IOException, ClassNotFoundException {
+        StructureEvents.ParseEvent event = new StructureEvents.ParseEvent();
+        event.start();
+        byte[] hash = hash(jsonFile);
+        Path cacheFile = cacheFileFor(jsonFile);
+
+        List<JSONClass> cached = read(cacheFile, hash);
+        if (cached != null) {
+            return finishParseEvent(event, jsonFile, cached, true);
+        }
+
+        List<JSONClass> classes = StructureStreamParser.parse(jsonFile);
+        try {
+            write(cacheFile, hash, classes);
+        } catch (IOException | SecurityException e) {
+            LOGGER.warning("Could not write the structure cache: " + e.getMessage());
+        }
+        return finishParseEvent(event, jsonFile, classes, false);
+    }
+
+    private static List<JSONClass> finishParseEvent(StructureEvents.ParseEvent event, Path jsonFile,
+                                                    List<JSONClass> classes, boolean cached) {
+        event.file = jsonFile.toString();
+        event.classCount = classes.size();
+        event.cached = cached;
+        event.finish(StructureEvents.Phase.PARSE);
+        return classes;
+    }
+
+    /**
+     * Parses the JSON structure file and writes the binary cache next to it.
+     *
+     * @param jsonFile Path to the JSON structure file.
+     * @return Path to the written cache file.
+     * @throws IOException            thrown if the structure file could not be read or the cache could not be written.
+     * @throws ClassNotFoundException thrown if the structure file contains an invalid class entry.
+     */
+    protected static Path compile(Path jsonFile) throws IOException, ClassNotFoundException {
+        Path cacheFile = cacheFileFor(jsonFile);
+        write(cacheFile, hash(jsonFile), StructureStreamParser.parse(jsonFile));
+        return cacheFile;
+    }
+
+    protected static Path cacheFileFor(Path jsonFile) {
+        return jsonFile.resolveSibling(jsonFile.getFileName() + CACHE_SUFFIX);
+    }
+
+    /**
+     * Computes the SHA-256 hash of the file content without reading the whole file into memory.
+     */
+    protected static byte[] hash(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] chunk = new byte[8192];
+            for (int read = in.read(chunk); read != -1; read = in.read(chunk)) {
+                digest.update(chunk, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Computes the SHA-256 hash of the binary record of one expected class, so the hash only changes when the expected
+     * structure of this class changes.
+     */
+    protected static byte[] hash(JSONClass cl) {
+        DigestOutputStream digestOut = new DigestOutputStream(OutputStream.nullOutputStream(), newDigest());
+        try (DataOutputStream out = new DataOutputStream(digestOut)) {
+            writeClass(out, cl);
+        } catch (IOException e) {
+            // The null output stream never throws.
+            throw new UncheckedIOException(e);
+        }
+        return digestOut.getMessageDigest().digest();
+    }
+
+    protected static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads the binary cache if it exists and was compiled from the JSON content with the given hash.
+     *
+     * @param cacheFile Path to the binary cache.
+     * @param hash      Expected hash of the JSON content.
+     * @return The cached structure or null if the cache is missing, outdated or corrupted.
+     */
+    private static List<JSONClass> read(Path cacheFile, byte[] hash) {
+        ByteBuffer buffer = map(cacheFile, hash);
+        if (buffer == null) {
+            return null;
+        }
+        try {
+            List<JSONClass> classes = new LinkedList<>();
+            for (int offset : readOffsets(buffer)) {
+                classes.add(readClass(buffer.position(offset)));
+            }
+            return classes;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            LOGGER.warning("Ignoring the corrupted structure cache: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Memory-maps the binary cache if it exists and was compiled from the JSON content with the given hash.
+     *
+     * @param cacheFile Path to the binary cache.
+     * @param hash      Expected hash of the JSON content.
+     * @return The mapped cache positioned after the hash or null if the cache is missing, outdated or corrupted.
+     */
+    protected static ByteBuffer map(Path cacheFile, byte[] hash) {
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed.
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            byte[] cachedHash = new byte[HASH_LENGTH];
+            buffer.get(cachedHash);
+            return Arrays.equals(cachedHash, hash) ? buffer : null;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | BufferUnderflowException e) {
+            LOGGER.warning("Ignoring the corrupted structure cache: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads the offsets of the class records from a buffer returned by {@link #map(Path, byte[])}.
+     */
+    protected static int[] readOffsets(ByteBuffer buffer) {
+        int classCount = buffer.getInt();
+        int[] offsets = new int[classCount];
+        for (int i = 0; i < classCount; i++) {
+            offsets[i] = buffer.getInt();
+        }
+        return offsets;
+    }
+
+    protected static JSONClass readClass(ByteBuffer buffer) {
+        String packageName = readString(buffer);
+        String name = readString(buffer);
+        String superclass = readString(buffer);
+        List<String> interfaces = readStrings(buffer);
+        int flags = buffer.get();
+        List<String> enumValues = readStrings(buffer);
+        List<String> annotations = readStrings(buffer);
+
+        int methodCount = buffer.getInt();
+        List<JSONMethod> methods = new LinkedList<>();
+        for (int i = 0; i < methodCount; i++) {
+            methods.add(new JSONMethod(readString(buffer), readString(buffer), readStrings(buffer),
+                                       readStrings(buffer), readStrings(buffer)));
+        }
+        int constructorCount = buffer.getInt();
+        List<JSONConstructor> constructors = new LinkedList<>();
+        for (int i = 0; i < constructorCount; i++) {
+            constructors.add(new JSONConstructor(readStrings(buffer), readStrings(buffer), readStrings(buffer)));
+        }
+        int attributeCount = buffer.getInt();
+        List<JSONAttribute> attributes = new LinkedList<>();
+        for (int i = 0; i < attributeCount; i++) {
+            attributes.add(new JSONAttribute(readString(buffer), readString(buffer), readStrings(buffer),
+                                             readStrings(buffer)));
+        }
+
+        return new JSONClass(packageName, name, superclass, interfaces, (flags & INTERFACE_FLAG) != 0,
+                             (flags & ENUM_FLAG) != 0, (flags & ABSTRACT_FLAG) != 0, (flags & SKIP_FLAG) != 0,
+                             (flags & INHERITED_FLAG) != 0, enumValues, annotations, methods, constructors,
+                             attributes);
+    }
+
+    protected static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readStrings(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0) {
+            return null;
+        }
+        List<String> strings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            strings.add(readString(buffer));
+        }
+        return List.copyOf(strings);
+    }
+
+    /**
+     * Writes the binary cache to a temporary file first and then moves it in place, so concurrent grading runs never
+     * read a partially written cache.
+     */
+    protected static void write(Path cacheFile, byte[] hash, List<JSONClass> classes) throws IOException {
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream recordsOut = new DataOutputStream(records);
+        int headerSize = 4 + 4 + HASH_LENGTH + 4 + 4 * classes.size();
+        int[] offsets = new int[classes.size()];
+        int index = 0;
+        for (JSONClass cl : classes) {
+            offsets[index++] = headerSize + recordsOut.size();
+            writeClass(recordsOut, cl);
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(headerSize + records.size());
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.write(hash);
+        out.writeInt(classes.size());
+        for (int offset : offsets) {
+            out.writeInt(offset);
+        }
+        records.writeTo(out);
+
+        Path tempFile = Files.createTempFile(cacheFile.toAbsolutePath().getParent(),
+                                             cacheFile.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempFile, output.toByteArray());
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static void writeClass(DataOutputStream out, JSONClass cl) throws IOException {
+        writeString(out, cl.packageName);
+        writeString(out, cl.name);
+        writeString(out, cl.superclass);
+        writeStrings(out, cl.interfaces);
+        out.writeByte((cl.isInterface ? INTERFACE_FLAG : 0) | (cl.isEnum ? ENUM_FLAG : 0) |
+                      (cl.isAbstract ? ABSTRACT_FLAG : 0) | (cl.skip ? SKIP_FLAG : 0) |
+                      (cl.inherited ? INHERITED_FLAG : 0));
+        writeStrings(out, cl.enumValues);
+        writeStrings(out, cl.annotations);
+
+        out.writeInt(cl.methods.size());
+        for (JSONMethod method : cl.methods) {
+            writeString(out, method.name);
+            writeString(out, method.returnType);
+            writeStrings(out, method.modifiers);
+            writeStrings(out, method.parameters);
+            writeStrings(out, method.annotations);
+        }
+        out.writeInt(cl.constructors.size());
+        for (JSONConstructor constructor : cl.constructors) {
+            writeStrings(out, constructor.modifiers);
+            writeStrings(out, constructor.parametersTypes);
+            writeStrings(out, constructor.annotations);
+        }
+        out.writeInt(cl.attributes.size());
+        for (JSONAttribute attribute : cl.attributes) {
+            writeString(out, attribute.name);
+            writeString(out, attribute.type);
+            writeStrings(out, attribute.modifiers);
+            writeStrings(out, attribute.annotations);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package youPackage.structure;
+
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedList;
+import java.util.List;
+
+import static de.tum.cit.fop.structure.StructureParser.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.0 (16.10.2026)
+ * <br><br>
+ * Streaming parser for the JSON structure file. The file is tokenized directly from the reader and only the DOM of
+ * the current class entry is built, so neither the raw text nor the DOM of the whole file is kept in memory.
+ * Class entries are converted with the same semantics as {@link StructureParser#extractClassFromJSON(JSONObject)}.
+ */
+class StructureStreamParser implements Closeable {
+    private final Reader reader;
+    private final JSONTokener tokener;
+    private boolean started;
+    private boolean finished;
+
+    protected StructureStreamParser(Reader reader) {
+        this.reader = reader;
+        this.tokener = new JSONTokener(reader);
+    }
+
+    /**
+     * Parses the whole structure file, one class entry at a time.
+     *
+     * @param jsonFile Path to the JSON structure file.
+     * @return A list with JSONClass objects that represent the expected structure of the target project.
+     * @throws IOException            thrown if the structure file could not be read.
+     * @throws ClassNotFoundException thrown if the structure file contains an invalid class entry.
+     */
+    protected static List<JSONClass> parse(Path jsonFile) throws IOException, ClassNotFoundException {
+        try (StructureStreamParser parser = new StructureStreamParser(
+                Files.newBufferedReader(jsonFile, StandardCharsets.UTF_8))) {
+            List<JSONClass> output = new LinkedList<>();
+            for (JSONClass cl = parser.next(); cl != null; cl = parser.next()) {
+                output.add(cl);
+            }
+            return output;
+        }
+    }
+
+    /**
+     * Reads the next class entry of the structure file.
+     *
+     * @return JSONClass object of the next entry or null if the end of the structure file is reached.
+     * @throws ClassNotFoundException thrown if the entry does not contain a correctly defined class.
+     */
+    protected JSONClass next() throws ClassNotFoundException {
+        if (finished) {
+            return null;
+        }
+        char c = tokener.nextClean();
+        if (!started) {
+            if (c != '[') {
+                throw tokener.syntaxError("A JSONArray text must start with '['");
+            }
+            started = true;
+        } else if (c != ',' && c != ']') {
+            throw tokener.syntaxError("Expected a ',' or ']'");
+        }
+        if (c != ']') {
+            c = tokener.nextClean();
+        }
+        if (c == ']') {
+            finished = true;
+            return null;
+        }
+        tokener.back();
+
+        // Only the DOM of the current class entry is created.
+        Object entry = tokener.nextValue();
+        if (!(entry instanceof JSONObject jsonObject)) {
+            throw tokener.syntaxError("A class entry must be a JSONObject");
+        }
+        return extractClassFromJSON(jsonObject);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -2,39 +2,57 @@ package youPackage.structure;
 
 import de.tum.in.test.api.jupiter.Public;
 import org.junit.jupiter.api.*;
-import org.junit.platform.commons.support.ModifierSupport;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 
 import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
-import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.fail;
 import static de.tum.cit.fop.structure.StructureParser.*;
-import static de.tum.cit.fop.structure.StructureChecker.*;
+import static de.tum.cit.fop.structure.StructureReport.*;
+import static de.tum.cit.fop.structure.StructureVerifier.*;
 
 /**
  * @author Ivan Parmacli (ivan.parmacli@proton.me)
- * @version 1.2 (30.10.2024)
+ * @version 2.4 (16.10.2026)
  * <br><br>
  * This test evaluates whether the specified classes, attributes, constructors, and methods in a JSON structure file
  * are implemented correctly.
+ * Every class is verified once by the {@link StructureVerifier}, the tests below only report the mismatches of their
+ * category. The expected structure is immutable, so the classes can be verified in parallel.
+ * Set the "structure.report" system property to a file path to also write the reports as JSON and the
+ * "structure.backend" system property to "bytecode" to verify the class files without loading the classes.
+ * Set the "structure.verdictCache" system property to a directory to reuse the reports of unchanged classes.
+ * The expected structure of a class is only read by the first test of the class, so a run that selects some of the
+ * tests only reads the classes it tests. Set the "structure.classes" system property to a comma separated list of
+ * simple or fully qualified class names to only create the tests of these classes.
  * Use @Disabled annotation to disable a test if it is not needed.
  */
 @Structure // For Ares security manager.
+@Execution(ExecutionMode.CONCURRENT) // Takes effect if "junit.jupiter.execution.parallel.enabled" is set to true.
 class StructureTest {
     private static final Logger logger = Logger.getLogger("structure");
-    private static final List<JSONClass> classes;
+    private static final StructureIndex index;
+    private static final List<StructureIndex.Entry> classes;
+    private static final Map<StructureIndex.Entry, StructureReport> reports = new ConcurrentHashMap<>();
+    private static final boolean bytecodeBackend = "bytecode".equals(System.getProperty("structure.backend"));
+    private static final VerdictCache verdictCache = VerdictCache.fromSystemProperties();
 
     static {
         String errorMessage = "Could not create a list of classes from the structure file. Make sure it exists and has a correct format.";
         try {
-            classes = retrieveStructureFromJSON();
+            String classFilter = System.getProperty("structure.classes");
+            Set<String> filter = classFilter == null ? null : Set.copyOf(Arrays.asList(classFilter.split("\\s*,\\s*")));
+            index = retrieveStructureIndex(filter);
+            classes = index.entries();
         } catch (URISyntaxException | IOException | ClassNotFoundException e) {
             logger.warning(e.getMessage());
             throw new RuntimeException(errorMessage);
@@ -51,48 +69,17 @@ class StructureTest {
     @Timeout(5)
     @Public // For Ares security manager.
     Stream<DynamicTest> classTest() {
-        return classes.stream().map(cl -> DynamicTest.dynamicTest("ClassTest[" + cl.name + "]", () -> {
+        return classes.stream().map(entry -> dynamicTest("ClassTest", entry, () -> {
+            // Read the expected class if it is the first test of the class.
+            JSONClass cl = entry.get();
+
             // Verify the class existence.
-            String currentType =
-                    cl.isAbstract ? "abstract class" : cl.isInterface ? "interface" : cl.isEnum ? "enum" : "class";
-            try {
-                Class.forName(cl.packageName + "." + cl.name);
-            } catch (ClassNotFoundException e) {
-                fail("Could not find the \"" + cl.packageName + "." + cl.name +
-                     "\" " + currentType + " within the submission. Make sure it is implemented properly.");
-            }
+            StructureReport report = verifyExistence(entry, cl);
 
             // Skip the test if specified.
             Assumptions.assumeFalse(cl.skip, "Class test was not executed.");
 
-            // Verify superclass.
-            Class<?> targetClass = Class.forName(cl.packageName + "." + cl.name);
-            if (cl.superclass != null) {
-                assertThat(targetClass.getSuperclass().getSimpleName()).withFailMessage(
-                                                                               "The \"" + cl.name + "\" should have a superclass \"" + cl.superclass + "\"")
-                                                                       .isEqualTo(cl.superclass);
-            }
-
-            // Verify enum constants.
-            if (cl.isEnum) {
-                assertThat(targetClass.isEnum()).withFailMessage("The \"" + cl.name + "\" should be an enum.").isTrue();
-                assertThat(Arrays.stream(targetClass.getEnumConstants())
-                                 .map(Object::toString)
-                                 .filter(cl.enumValues::contains)
-                                 .toList()).withFailMessage("The \"" + cl.name + "\" enum with " + cl.enumValues +
-                                                            " enum constant was not found within the submission. Make sure that it exists and is implemented properly.")
-                                           .isNotEmpty().hasSize(cl.enumValues.size());
-            }
-
-            // Verify class type.
-            if (cl.isAbstract) {
-                assertThat(ModifierSupport.isAbstract(targetClass)).withFailMessage(
-                        "The \"" + cl.name + "\" should be abstract.").isTrue();
-            }
-            if (cl.isInterface) {
-                assertThat(targetClass.isInterface()).withFailMessage("The \"" + cl.name + "\" should be an interface.")
-                                                     .isTrue();
-            }
+            failOnMismatch(report, Category.CLASS);
         }));
     }
 
@@ -106,47 +93,18 @@ class StructureTest {
     @Timeout(5)
     @Public // For Ares security manager.
     Stream<DynamicTest> attributeTest() {
-        return classes.stream().map(cl -> DynamicTest.dynamicTest("AttributeTest[" + cl.name + "]", () -> {
+        return classes.stream().map(entry -> dynamicTest("AttributeTest", entry, () -> {
+            // Read the expected class if it is the first test of the class.
+            JSONClass cl = entry.get();
+
             // Verify the class existence.
-            String currentType =
-                    cl.isAbstract ? "abstract class" : cl.isInterface ? "interface" : cl.isEnum ? "enum" : "class";
-            try {
-                Class.forName(cl.packageName + "." + cl.name);
-            } catch (ClassNotFoundException e) {
-                fail("Could not find the \"" + cl.packageName + "." + cl.name +
-                     "\" " + currentType + " within the submission. Make sure it is implemented properly.");
-            }
+            StructureReport report = verifyExistence(entry, cl);
 
             // Skip the test if there are no expected elements in the list.
-            Assumptions.assumeFalse(cl.attributes.isEmpty(), "The \"" + cl.packageName + "." + cl.name +
-                                                             "\" " + currentType + " attributes list is empty.");
-
-            // Verify attributes.
-            Class<?> targetClass = Class.forName(cl.packageName + "." + cl.name);
-            Field[] targetFields = targetClass.getDeclaredFields();
-            List<JSONAttribute> expectedAttributesFound = new LinkedList<>();
-            int attributesFound = Arrays.stream(targetFields)
-                                        .filter(field -> !cl.attributes.stream().filter(expectedAttribute -> {
-                                            JSONAttribute ja = attributeCheck(field, expectedAttribute);
-                                            if (ja == null) {
-                                                return false;
-                                            }
-                                            expectedAttributesFound.add(expectedAttribute);
-                                            return true;
-                                        }).toList().isEmpty())
-                                        .toList()
-                                        .size();
+            Assumptions.assumeFalse(cl.attributes.isEmpty(), "The \"" + cl.packageName + "." + cl.name + "\" " +
+                                                    typeName(cl) + " attributes list is empty.");
 
-            if (attributesFound != cl.attributes.size()) {
-                cl.attributes.removeAll(expectedAttributesFound);
-                cl.attributes.forEach(
-                        attribute -> fail(
-                                "Could not find an attribute of the " + cl.name + " " + currentType +
-                                " with:\nName: " + attribute.name + "\nType: " + attribute.type +
-                                (attribute.modifiers.isEmpty() ? "" : "\nModifiers: " + attribute.modifiers) +
-                                (attribute.annotations.isEmpty() ? ""
-                                                                 : "\nAnnotations: " + attribute.annotations)));
-            }
+            failOnMismatch(report, Category.ATTRIBUTE);
         }));
     }
 
@@ -160,48 +118,18 @@ class StructureTest {
     @Timeout(5)
     @Public // For Ares security manager.
     Stream<DynamicTest> constructorTest() {
-        return classes.stream().map(cl -> DynamicTest.dynamicTest("ConstructorTest[" + cl.name + "]", () -> {
+        return classes.stream().map(entry -> dynamicTest("ConstructorTest", entry, () -> {
+            // Read the expected class if it is the first test of the class.
+            JSONClass cl = entry.get();
+
             // Verify the class existence.
-            String currentType =
-                    cl.isAbstract ? "abstract class" : cl.isInterface ? "interface" : cl.isEnum ? "enum" : "class";
-            try {
-                Class.forName(cl.packageName + "." + cl.name);
-            } catch (ClassNotFoundException e) {
-                fail("Could not find the \"" + cl.packageName + "." + cl.name +
-                     "\" " + currentType + " within the submission. Make sure it is implemented properly.");
-            }
+            StructureReport report = verifyExistence(entry, cl);
 
             // Skip the test if there are no expected elements in the list.
-            Assumptions.assumeFalse(cl.constructors.isEmpty(), "The \"" + cl.packageName + "." + cl.name +
-                                                               "\" " + currentType + " constructors list is empty.");
+            Assumptions.assumeFalse(cl.constructors.isEmpty(), "The \"" + cl.packageName + "." + cl.name + "\" " +
+                                                    typeName(cl) + " constructors list is empty.");
 
-            // Verify constructors.
-            Class<?> targetClass = Class.forName(cl.packageName + "." + cl.name);
-            List<JSONConstructor> expectedConstructorsFound = new LinkedList<>();
-            Constructor<?>[] targetClassConstructors = targetClass.getDeclaredConstructors();
-            int constructorsFound = Arrays.stream(targetClassConstructors)
-                                          .filter(constructor -> !cl.constructors.stream().filter(expectedCon -> {
-                                              JSONConstructor jc = constructorsCheck(constructor, expectedCon);
-                                              if (jc == null) {
-                                                  return false;
-                                              }
-                                              expectedConstructorsFound.add(jc);
-                                              return true;
-                                          }).toList().isEmpty())
-                                          .toList()
-                                          .size();
-            if (constructorsFound != cl.constructors.size()) {
-                cl.constructors.removeAll(expectedConstructorsFound);
-                cl.constructors.forEach(
-                        constructor -> fail(
-                                "Could not find a constructor of the " + cl.name + " " + currentType +
-                                " with: " +
-                                (constructor.modifiers.isEmpty() ? "" : "\nModifiers: " + constructor.modifiers) +
-                                (constructor.parametersTypes.isEmpty() ? "" : "\nParameters: " +
-                                                                              constructor.parametersTypes) +
-                                (constructor.annotations.isEmpty() ? ""
-                                                                   : "\nAnnotations: " + constructor.annotations)));
-            }
+            failOnMismatch(report, Category.CONSTRUCTOR);
         }));
     }
 
@@ -215,49 +143,88 @@ class StructureTest {
     @Timeout(5)
     @Public // For Ares security manager.
     Stream<DynamicTest> methodTest() {
-        return classes.stream().map(cl -> DynamicTest.dynamicTest("MethodTest[" + cl.name + "]", () -> {
+        return classes.stream().map(entry -> dynamicTest("MethodTest", entry, () -> {
+            // Read the expected class if it is the first test of the class.
+            JSONClass cl = entry.get();
+
             // Verify the class existence.
-            String currentType =
-                    cl.isAbstract ? "abstract class" : cl.isInterface ? "interface" : cl.isEnum ? "enum" : "class";
-            try {
-                Class.forName(cl.packageName + "." + cl.name);
-            } catch (ClassNotFoundException e) {
-                fail("Could not find the \"" + cl.packageName + "." + cl.name +
-                     "\" " + currentType + " within the submission. Make sure it is implemented properly.");
-            }
+            StructureReport report = verifyExistence(entry, cl);
 
             // Skip the test if there are no expected elements in the list.
-            Assumptions.assumeFalse(cl.methods.isEmpty(), "The \"" + cl.packageName + "." + cl.name +
-                                                          "\" " + currentType + " methods list is empty.");
+            Assumptions.assumeFalse(cl.methods.isEmpty(), "The \"" + cl.packageName + "." + cl.name + "\" " +
+                                                    typeName(cl) + " methods list is empty.");
 
-            // Verify attributes.
-            Class<?> targetClass = Class.forName(cl.packageName + "." + cl.name);
-            Method[] targetMethods = targetClass.getDeclaredMethods();
-            List<JSONMethod> expectedMethodsFound = new LinkedList<>();
-            int methodsFound = Arrays.stream(targetMethods)
-                                     .filter(method -> !cl.methods.stream().filter(expectedMethod -> {
-                                         JSONMethod jm = methodCheck(method, expectedMethod);
-                                         if (jm == null) {
-                                             return false;
-                                         }
-                                         expectedMethodsFound.add(expectedMethod);
-                                         return true;
-                                     }).toList().isEmpty())
-                                     .toList()
-                                     .size();
+            failOnMismatch(report, Category.METHOD);
+        }));
+    }
 
-            if (methodsFound != cl.methods.size()) {
-                cl.methods.removeAll(expectedMethodsFound);
-                cl.methods.forEach(method -> fail("Could not find a method of the " + cl.name + " " + currentType +
-                                                  " with:\nName: " + method.name + "\nReturn Type: " +
-                                                  method.returnType +
-                                                  (method.parameters.isEmpty() ? ""
-                                                                               : "\nParameters: " + method.parameters) +
-                                                  (method.modifiers.isEmpty() ? ""
-                                                                              : "\nModifiers: " + method.modifiers) +
-                                                  (method.annotations.isEmpty() ? "" : "\nAnnotations: " +
-                                                                                       method.annotations)));
+    /**
+     * Writes the reports of all verified classes as JSON if the "structure.report" system property is set.
+     */
+    @AfterAll
+    static void writeReport() throws IOException {
+        String reportFile = System.getProperty("structure.report");
+        if (reportFile != null) {
+            StructureReport.write(classes.stream().filter(reports::containsKey).map(reports::get).toList(),
+                                  Path.of(reportFile));
+        }
+    }
+
+    /**
+     * Writes the binary cache of the structure file if it was outdated and every class was read by a test.
+     */
+    @AfterAll
+    static void writeStructureCache() {
+        index.writeCache();
+    }
+
+    /**
+     * Returns the report of the given class, the class is verified by the first test that needs it.
+     * Fails the test if the class could not be found.
+     */
+    private static StructureReport verifyExistence(StructureIndex.Entry entry, JSONClass cl) {
+        StructureReport report = reports.computeIfAbsent(entry, key -> report(cl));
+        if (!report.found) {
+            fail(report.mismatches(Category.CLASS).get(0).message);
+        }
+        return report;
+    }
+
+    /**
+     * Creates the dynamic test of the given factory for the class, the execution is recorded as a
+     * {@link StructureEvents.StructureTestEvent}.
+     */
+    private static DynamicTest dynamicTest(String factory, StructureIndex.Entry entry, Executable test) {
+        return DynamicTest.dynamicTest(factory + "[" + entry.name + "]", () -> {
+            StructureEvents.StructureTestEvent event = new StructureEvents.StructureTestEvent();
+            event.start();
+            try {
+                test.execute();
+                event.passed = true;
+            } finally {
+                event.factory = factory;
+                event.className = entry.packageName + "." + entry.name;
+                event.finish(StructureEvents.Phase.STRUCTURE_TEST);
             }
-        }));
+        });
+    }
+
+    /**
+     * Verifies the class with the configured backend, unchanged classes reuse the report of the verdict cache.
+     */
+    private static StructureReport report(JSONClass cl) {
+        BiFunction<JSONClass, ClassLoader, StructureReport> verifier =
+                bytecodeBackend ? BytecodeStructureVerifier::verify : StructureVerifier::verify;
+        ClassLoader loader = ClassMetadata.submissionLoader();
+        return verdictCache == null ? verifier.apply(cl, loader)
+                                    : verdictCache.verify(cl, loader, bytecodeBackend ? "bytecode" : "reflection",
+                                                          verifier);
+    }
+
+    /**
+     * Fails the test with the first mismatch of the given category.
+     */
+    private static void failOnMismatch(StructureReport report, Category category) {
+        report.mismatches(category).stream().findFirst().ifPresent(mismatch -> fail(mismatch.message));
     }
 }
@@ -0,0 +1,239 @@
+package youPackage.structure;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+
+import static de.tum.cit.fop.structure.ClassMetadata.*;
+import static de.tum.cit.fop.structure.StructureMatcher.*;
+import static de.tum.cit.fop.structure.StructureParser.*;
+import static de.tum.cit.fop.structure.StructureReport.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.4 (16.10.2026)
+ * <br><br>
+ * Verifies the kind, superclass, interfaces, enum constants, attributes, constructors and methods of an expected class
+ * in one pass over the metadata of the target class and collects every mismatch in a {@link StructureReport}.
+ * Classes with the "inherited" mode are verified against the members they declare or inherit, which are looked up
+ * in the {@link TypeHierarchy} of the submission.
+ */
+class StructureVerifier {
+    /**
+     * Verifies the expected class against the target class resolved by the class loader of the current submission.
+     *
+     * @param cl Expected class from the structure file.
+     * @return Report with every mismatch between the expected and the target class.
+     */
+    protected static StructureReport verify(JSONClass cl) {
+        return verify(cl, ClassMetadata.submissionLoader());
+    }
+
+    /**
+     * Verifies the expected class against the target class resolved by the given class loader.
+     *
+     * @param cl     Expected class from the structure file.
+     * @param loader Class loader of the submission.
+     * @return Report with every mismatch between the expected and the target class.
+     */
+    protected static StructureReport verify(JSONClass cl, ClassLoader loader) {
+        return verify(cl, ClassMetadata.forName(cl.packageName + "." + cl.name, loader),
+                      TypeHierarchy.reflective(loader));
+    }
+
+    /**
+     * Verifies the expected class against the given description of the target class.
+     *
+     * @param cl        Expected class from the structure file.
+     * @param target    Target class collected by reflection or read from the class file.
+     * @param hierarchy Type hierarchy of the submission of the same backend, only used if the expected class has the
+     *                  "inherited" mode.
+     * @return Report with every mismatch between the expected and the target class.
+     */
+    protected static StructureReport verify(JSONClass cl, TargetClass target, TypeHierarchy hierarchy) {
+        StructureEvents.VerifyEvent event = new StructureEvents.VerifyEvent();
+        event.start();
+        StructureReport report = verifyTarget(cl, target, hierarchy);
+        event.className = report.className;
+        event.backend = target instanceof ClassMetadata ? "reflection" : "bytecode";
+        event.mismatches = report.mismatches.size();
+        event.finish(StructureEvents.Phase.VERIFY);
+        return report;
+    }
+
+    private static StructureReport verifyTarget(JSONClass cl, TargetClass target, TypeHierarchy hierarchy) {
+        // Verify the class existence.
+        if (!target.exists()) {
+            return notFound(cl, target instanceof ClassMetadata metadata ? metadata.failure : null);
+        }
+
+        String currentType = typeName(cl);
+        List<Mismatch> mismatches = new ArrayList<>();
+        // The hierarchy is only resolved for classes that accept inherited members.
+        TypeHierarchy.Supertypes supertypes = cl.inherited ? hierarchy.supertypes(cl.packageName + "." + cl.name)
+                                                           : null;
+
+        // The class checks are not executed for skipped classes.
+        if (!cl.skip) {
+            verifyClass(cl, target, supertypes, mismatches);
+        }
+        verifyAttributes(cl, supertypes == null ? target.fields() : supertypes.fields, currentType, mismatches);
+        verifyConstructors(cl, target, currentType, mismatches);
+        verifyMethods(cl, supertypes == null ? target.methods() : supertypes.methods, currentType, mismatches);
+        return new StructureReport(cl.packageName + "." + cl.name, true, cl.skip, mismatches);
+    }
+
+    /**
+     * Returns the report for an expected class that could not be found within the submission.
+     */
+    protected static StructureReport notFound(JSONClass cl) {
+        return notFound(cl, null);
+    }
+
+    /**
+     * Returns the report for an expected class that could not be found or loaded within the submission.
+     *
+     * @param cl      Expected class from the structure file.
+     * @param failure Error of the class if it was found but could not be loaded, null otherwise.
+     * @return The report.
+     */
+    protected static StructureReport notFound(JSONClass cl, String failure) {
+        String qualifiedName = cl.packageName + "." + cl.name;
+        String message = "Could not find the \"" + qualifiedName + "\" " + typeName(cl) +
+                         " within the submission. Make sure it is implemented properly.";
+        Mismatch mismatch = new Mismatch(Category.CLASS,
+                                         failure == null ? message : message + " It could not be loaded: " + failure);
+        return new StructureReport(qualifiedName, false, cl.skip, List.of(mismatch));
+    }
+
+    /**
+     * Returns the kind of the expected class as it is shown in the feedback, e.g. "abstract class" or "enum".
+     */
+    protected static String typeName(JSONClass cl) {
+        return cl.isAbstract ? "abstract class" : cl.isInterface ? "interface" : cl.isEnum ? "enum" : "class";
+    }
+
+    private static void verifyClass(JSONClass cl, TargetClass targetClass, TypeHierarchy.Supertypes supertypes,
+                                    List<Mismatch> mismatches) {
+        // Verify superclass, in the inherited mode any superclass of the hierarchy is accepted.
+        if (cl.superclass != null && (supertypes == null ? !cl.superclass.equals(targetClass.superclassName())
+                                                         : !supertypes.superclasses.contains(cl.superclass))) {
+            mismatches.add(new Mismatch(Category.CLASS,
+                                        "The \"" + cl.name + "\" should have a superclass \"" + cl.superclass + "\""));
+        }
+
+        // Verify interfaces, in the inherited mode the interfaces of the supertypes are accepted.
+        if (cl.interfaces != null) {
+            List<String> interfaces = supertypes != null ? supertypes.interfaces : directInterfaces(targetClass);
+            for (String expectedInterface : cl.interfaces) {
+                if (!interfaces.contains(expectedInterface)) {
+                    mismatches.add(new Mismatch(Category.CLASS, "The \"" + cl.name + "\" should implement the \"" +
+                                                                expectedInterface + "\" interface."));
+                }
+            }
+        }
+
+        // Verify enum constants.
+        if (cl.isEnum) {
+            if (!targetClass.isEnum()) {
+                mismatches.add(new Mismatch(Category.CLASS, "The \"" + cl.name + "\" should be an enum."));
+            } else {
+                List<String> expectedValues = cl.enumValues == null ? List.of() : cl.enumValues;
+                long valuesFound = targetClass.enumConstants().stream().filter(expectedValues::contains).count();
+                if (valuesFound == 0 || valuesFound != expectedValues.size()) {
+                    mismatches.add(new Mismatch(Category.CLASS,
+                                                "The \"" + cl.name + "\" enum with " + cl.enumValues +
+                                                " enum constant was not found within the submission. Make sure that it exists and is implemented properly."));
+                }
+            }
+        }
+
+        // Verify class type.
+        if (cl.isAbstract && !targetClass.isAbstract()) {
+            mismatches.add(new Mismatch(Category.CLASS, "The \"" + cl.name + "\" should be abstract."));
+        }
+        if (cl.isInterface && !targetClass.isInterface()) {
+            mismatches.add(new Mismatch(Category.CLASS, "The \"" + cl.name + "\" should be an interface."));
+        }
+    }
+
+    /**
+     * Returns the simple names of the interfaces the target class implements or extends itself.
+     */
+    private static List<String> directInterfaces(TargetClass targetClass) {
+        // The superclass is the first supertype, interfaces and java.lang.Object have none.
+        return targetClass.supertypeNames().stream()
+                          .skip(targetClass.superclassName() == null ? 0 : 1)
+                          .map(ClassFileReader::simpleName)
+                          .toList();
+    }
+
+    private static void verifyAttributes(JSONClass cl, List<MemberMetadata> targetFields, String currentType,
+                                         List<Mismatch> mismatches) {
+        if (cl.attributes.isEmpty()) {
+            return;
+        }
+        MatchResult<JSONAttribute> attributes = matchAttributes(targetFields, cl.attributes);
+        if (allFound(cl, attributes, cl.attributes)) {
+            return;
+        }
+        List<JSONAttribute> missingAttributes = new LinkedList<>(cl.attributes);
+        missingAttributes.removeAll(attributes.expectedFound);
+        missingAttributes.forEach(attribute -> mismatches.add(new Mismatch(
+                Category.ATTRIBUTE,
+                "Could not find an attribute of the " + cl.name + " " + currentType +
+                " with:\nName: " + attribute.name + "\nType: " + attribute.type +
+                (attribute.modifiers.isEmpty() ? "" : "\nModifiers: " + attribute.modifiers) +
+                (attribute.annotations.isEmpty() ? "" : "\nAnnotations: " + attribute.annotations))));
+    }
+
+    /**
+     * Returns true if every expected member was matched. In the inherited mode the target members include the members
+     * of the supertypes, e.g. of java.lang.Object, so the number of matched target members says nothing about the
+     * expected members and every expected member has to be found instead.
+     */
+    private static <E> boolean allFound(JSONClass cl, MatchResult<E> result, List<E> expected) {
+        return cl.inherited ? new HashSet<>(result.expectedFound).containsAll(expected)
+                            : result.targetsMatched == expected.size();
+    }
+
+    private static void verifyConstructors(JSONClass cl, TargetClass target, String currentType,
+                                           List<Mismatch> mismatches) {
+        if (cl.constructors.isEmpty()) {
+            return;
+        }
+        MatchResult<JSONConstructor> constructors = matchConstructors(target.constructors(), cl.constructors);
+        if (constructors.targetsMatched == cl.constructors.size()) {
+            return;
+        }
+        List<JSONConstructor> missingConstructors = new LinkedList<>(cl.constructors);
+        missingConstructors.removeAll(constructors.expectedFound);
+        missingConstructors.forEach(constructor -> mismatches.add(new Mismatch(
+                Category.CONSTRUCTOR,
+                "Could not find a constructor of the " + cl.name + " " + currentType + " with: " +
+                (constructor.modifiers.isEmpty() ? "" : "\nModifiers: " + constructor.modifiers) +
+                (constructor.parametersTypes.isEmpty() ? "" : "\nParameters: " + constructor.parametersTypes) +
+                (constructor.annotations.isEmpty() ? "" : "\nAnnotations: " + constructor.annotations))));
+    }
+
+    private static void verifyMethods(JSONClass cl, List<MemberMetadata> targetMethods, String currentType,
+                                      List<Mismatch> mismatches) {
+        if (cl.methods.isEmpty()) {
+            return;
+        }
+        MatchResult<JSONMethod> methods = matchMethods(targetMethods, cl.methods);
+        if (allFound(cl, methods, cl.methods)) {
+            return;
+        }
+        List<JSONMethod> missingMethods = new LinkedList<>(cl.methods);
+        missingMethods.removeAll(methods.expectedFound);
+        missingMethods.forEach(method -> mismatches.add(new Mismatch(
+                Category.METHOD,
+                "Could not find a method of the " + cl.name + " " + currentType +
+                " with:\nName: " + method.name + "\nReturn Type: " + method.returnType +
+                (method.parameters.isEmpty() ? "" : "\nParameters: " + method.parameters) +
+                (method.modifiers.isEmpty() ? "" : "\nModifiers: " + method.modifiers) +
+                (method.annotations.isEmpty() ? "" : "\nAnnotations: " + method.annotations))));
+    }
+}
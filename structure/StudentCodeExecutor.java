@@ -0,0 +1,87 @@
+package youPackage.structure;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.1 (16.10.2026)
+ * <br><br>
+ * Runs the getters, setters and constructors of the submission on a separate daemon thread with a deadline per call.
+ * A call that does not return in time is cancelled and reported as a timeout, so an endless loop in one accessor only
+ * fails the test of this accessor instead of using up the timeout of the whole test factory.
+ * <p></p>
+ * The deadline is set by the "structure.invocationTimeoutMillis" system property, 1000 ms by default. Every call gets
+ * its own thread, which is started by the test thread and ends with the call, so it belongs to the thread group of
+ * the running test and no idle thread outlives the test. Ares only permits these threads with
+ * {@code @AllowThreads}, see {@link GetterSetterTest}. Cancelling interrupts the thread of the call; code that
+ * ignores the interrupt keeps running on its daemon thread, which Ares reports as a thread left running by the test.
+ */
+class StudentCodeExecutor {
+    private static final Logger LOGGER = Logger.getLogger("structure");
+    private static final long TIMEOUT_MILLIS = Long.getLong("structure.invocationTimeoutMillis", 1000);
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /**
+     * Returns the deadline of a single call in milliseconds.
+     */
+    protected static long timeoutMillis() {
+        return TIMEOUT_MILLIS;
+    }
+
+    /**
+     * Runs the call of the submission code and waits for its result until the deadline.
+     *
+     * @param call Call of a getter, setter or constructor of the submission.
+     * @return The result of the call.
+     * @throws InvocationTargetException thrown if the call throws an exception, the exception is the cause.
+     * @throws TimeoutException          thrown if the call did not return before the deadline, it is cancelled.
+     */
+    protected static <T> T invoke(Invocation<T> call) throws InvocationTargetException, TimeoutException {
+        FutureTask<T> task = new FutureTask<>(() -> {
+            try {
+                return call.invoke();
+            } catch (Throwable e) {
+                // A task may only throw exceptions, the exception of the call is unwrapped below.
+                throw new ExecutionException(e);
+            }
+        });
+        Thread thread = new Thread(task, "student-code-" + THREAD_COUNT.incrementAndGet());
+        // Threads of calls that ignored the cancellation must not keep the JVM alive.
+        thread.setDaemon(true);
+        thread.start();
+        try {
+            // Waiting for the thread instead of the result, the thread has ended when the test continues.
+            thread.join(TIMEOUT_MILLIS);
+            if (thread.isAlive()) {
+                task.cancel(true);
+                LOGGER.warning("Cancelled a call of the submission after " + TIMEOUT_MILLIS + " ms.");
+                throw new TimeoutException("The call did not return within " + TIMEOUT_MILLIS + " ms.");
+            }
+            return task.get();
+        } catch (ExecutionException e) {
+            Throwable thrown = e.getCause().getCause();
+            if (thrown instanceof InvocationTargetException invocationTargetException) {
+                throw invocationTargetException;
+            }
+            throw new InvocationTargetException(thrown);
+        } catch (InterruptedException e) {
+            // The test itself was interrupted, e.g. by its timeout.
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("The test was interrupted while waiting for the call.");
+        }
+    }
+
+    /**
+     * Call of the submission code, the checked exceptions of reflective calls and method handles are passed on.
+     */
+    @FunctionalInterface
+    protected interface Invocation<T> {
+        T invoke() throws Throwable;
+    }
+}
@@ -0,0 +1,217 @@
+package youPackage.structure;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.1 (16.10.2026)
+ * <br><br>
+ * Manages the class loaders of the submissions graded in one JVM. Every submission gets its own class loader, which
+ * is released when the submission is graded: its introspection cache and type hierarchy are evicted, it is closed
+ * and then tracked with a weak reference until it is garbage collected together with its classes.
+ * <p></p>
+ * The metaspace use is bounded by the "structure.metaspaceBudget" system property in bytes, 80% of
+ * {@code -XX:MaxMetaspaceSize} by default if it is set. If the metaspace exceeds the budget when a class loader is
+ * requested, a garbage collection is requested to unload the classes of the released class loaders first. The
+ * gauges of the pool are exposed by JMX, see {@link SubmissionClassLoaderPoolMXBean}.
+ */
+class SubmissionClassLoaderPool implements SubmissionClassLoaderPoolMXBean {
+    private static final Logger LOGGER = Logger.getLogger("structure");
+    private static final String METASPACE_POOL = "Metaspace";
+    // Time to wait for the references of the released class loaders after a garbage collection.
+    private static final long COLLECTION_WAIT_MILLIS = 100;
+    // Null if the JVM has no metaspace memory pool.
+    private static final MemoryPoolMXBean METASPACE = metaspacePool();
+    private static final SubmissionClassLoaderPool SHARED = createShared();
+
+    private final long metaspaceBudget;
+    private final ReferenceQueue<ClassLoader> collectedQueue = new ReferenceQueue<>();
+    private final Set<Reference<ClassLoader>> released = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger liveLoaders = new AtomicInteger();
+    private final AtomicLong createdLoaders = new AtomicLong();
+    private final AtomicLong collectedLoaders = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param metaspaceBudget Metaspace budget in bytes, -1 for no budget.
+     */
+    protected SubmissionClassLoaderPool(long metaspaceBudget) {
+        this.metaspaceBudget = metaspaceBudget;
+    }
+
+    private static SubmissionClassLoaderPool createShared() {
+        long maxMetaspace = METASPACE == null ? -1 : METASPACE.getUsage().getMax();
+        SubmissionClassLoaderPool pool = new SubmissionClassLoaderPool(
+                Long.getLong("structure.metaspaceBudget", maxMetaspace < 0 ? -1 : maxMetaspace / 5 * 4));
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    pool, new ObjectName(SubmissionClassLoaderPool.class.getPackageName() +
+                                         ":type=SubmissionClassLoaderPool"));
+        } catch (JMException e) {
+            LOGGER.warning("Could not register the class loader pool gauges: " + e.getMessage());
+        }
+        return pool;
+    }
+
+    private static MemoryPoolMXBean metaspacePool() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                                .filter(pool -> pool.getName().equals(METASPACE_POOL))
+                                .findFirst()
+                                .orElse(null);
+    }
+
+    /**
+     * Returns the pool shared by all graders of this JVM.
+     */
+    protected static SubmissionClassLoaderPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Grades a submission with its own class loader, see {@link ClassMetadata#withSubmissionLoader}. The class loader
+     * is released afterwards.
+     *
+     * @param submission Path to the submission directory or jar.
+     * @param task       Task to run with the class loader of the submission.
+     * @return The result of the task.
+     */
+    protected <T> T withSubmission(Path submission, Callable<T> task) throws Exception {
+        URLClassLoader loader = acquire(submission);
+        try {
+            return ClassMetadata.withSubmissionLoader(loader, task);
+        } finally {
+            release(loader);
+        }
+    }
+
+    /**
+     * Creates the class loader of a submission, classes of the application class path are not visible to it.
+     *
+     * @param submission Path to the submission directory or jar.
+     * @return The class loader, it has to be passed to {@link #release(URLClassLoader)} once the submission is graded.
+     * @throws MalformedURLException thrown if the path can not be converted to a URL.
+     */
+    protected URLClassLoader acquire(Path submission) throws MalformedURLException {
+        enforceBudget();
+        URLClassLoader loader = new URLClassLoader("submission-" + submission.getFileName(),
+                                                   new URL[]{submission.toUri().toURL()},
+                                                   ClassLoader.getPlatformClassLoader());
+        createdLoaders.incrementAndGet();
+        liveLoaders.incrementAndGet();
+        return loader;
+    }
+
+    /**
+     * Releases the class loader of a graded submission. The caches that refer to its classes are evicted and the
+     * class loader is closed, afterwards only a weak reference to it is kept.
+     */
+    protected void release(URLClassLoader loader) {
+        ClassMetadata.evict(loader);
+        TypeHierarchy.evict(loader);
+        try {
+            loader.close();
+        } catch (IOException e) {
+            // The class loader is not used anymore, nothing to do.
+        }
+        released.add(new WeakReference<>(loader, collectedQueue));
+        liveLoaders.decrementAndGet();
+        pollCollected();
+    }
+
+    /**
+     * Requests a garbage collection if the metaspace exceeds the budget, so the classes of the released class loaders
+     * are unloaded before the classes of the next submission are loaded.
+     */
+    private synchronized void enforceBudget() {
+        pollCollected();
+        // Only the classes of released class loaders can be unloaded.
+        if (metaspaceBudget < 0 || released.isEmpty() || getMetaspaceUsed() <= metaspaceBudget) {
+            return;
+        }
+        evictions.incrementAndGet();
+        System.gc();
+        try {
+            // The references are enqueued by the reference handler thread after the collection.
+            while (!released.isEmpty()) {
+                Reference<?> reference = collectedQueue.remove(COLLECTION_WAIT_MILLIS);
+                if (reference == null) {
+                    break;
+                }
+                collected(reference);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (getMetaspaceUsed() > metaspaceBudget) {
+            LOGGER.warning("The metaspace use of " + getMetaspaceUsed() + " bytes exceeds the budget of " +
+                           metaspaceBudget + " bytes, " + released.size() + " released class loaders are still " +
+                           "reachable and " + liveLoaders.get() + " are in use.");
+        }
+    }
+
+    private void pollCollected() {
+        for (Reference<?> reference = collectedQueue.poll(); reference != null; reference = collectedQueue.poll()) {
+            collected(reference);
+        }
+    }
+
+    private void collected(Reference<?> reference) {
+        if (released.remove(reference)) {
+            collectedLoaders.incrementAndGet();
+        }
+    }
+
+    @Override
+    public int getLiveLoaders() {
+        return liveLoaders.get();
+    }
+
+    @Override
+    public int getReleasedLoaders() {
+        pollCollected();
+        return released.size();
+    }
+
+    @Override
+    public long getCreatedLoaders() {
+        return createdLoaders.get();
+    }
+
+    @Override
+    public long getCollectedLoaders() {
+        pollCollected();
+        return collectedLoaders.get();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @Override
+    public long getMetaspaceUsed() {
+        return METASPACE == null ? -1 : METASPACE.getUsage().getUsed();
+    }
+
+    @Override
+    public long getMetaspaceBudget() {
+        return metaspaceBudget;
+    }
+}
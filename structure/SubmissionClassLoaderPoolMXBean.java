@@ -0,0 +1,41 @@
+package youPackage.structure;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.0 (16.10.2026)
+ * <br><br>
+ * Gauges of the {@link SubmissionClassLoaderPool}, registered as
+ * "youPackage.structure:type=SubmissionClassLoaderPool" in the platform MBean server. The interface has to be public
+ * to be exposed by JMX.
+ */
+public interface SubmissionClassLoaderPoolMXBean {
+    /**
+     * Returns the number of class loaders of submissions that are being graded.
+     */
+    int getLiveLoaders();
+
+    /**
+     * Returns the number of released class loaders that have not been garbage collected yet. A number that keeps
+     * growing points to a leak, e.g. a thread started by a submission.
+     */
+    int getReleasedLoaders();
+
+    long getCreatedLoaders();
+
+    long getCollectedLoaders();
+
+    /**
+     * Returns the number of times the metaspace budget was exceeded.
+     */
+    long getEvictions();
+
+    /**
+     * Returns the used metaspace in bytes or -1 if the JVM has no metaspace memory pool.
+     */
+    long getMetaspaceUsed();
+
+    /**
+     * Returns the metaspace budget in bytes or -1 if there is no budget.
+     */
+    long getMetaspaceBudget();
+}
@@ -0,0 +1,45 @@
+package youPackage.structure;
+
+import java.util.List;
+
+import static de.tum.cit.fop.structure.ClassMetadata.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.1 (16.10.2026)
+ * <br><br>
+ * Description of a target class of the submission that is verified against the expected structure. The description
+ * is either collected by reflection ({@link ClassMetadata}) or read from the compiled class file
+ * ({@link ClassFileReader}).
+ */
+interface TargetClass {
+    boolean exists();
+
+    /**
+     * @return Simple name of the superclass, null if the class is an interface or has no superclass.
+     */
+    String superclassName();
+
+    /**
+     * @return Binary names of the direct superclass and the directly implemented interfaces, the superclass first.
+     * Interfaces list the interfaces they extend.
+     */
+    List<String> supertypeNames();
+
+    boolean isEnum();
+
+    boolean isAbstract();
+
+    boolean isInterface();
+
+    /**
+     * @return Names of the enum constants in declaration order.
+     */
+    List<String> enumConstants();
+
+    List<MemberMetadata> fields();
+
+    List<MemberMetadata> methods();
+
+    List<MemberMetadata> constructors();
+}
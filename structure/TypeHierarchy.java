@@ -0,0 +1,196 @@
+package youPackage.structure;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static de.tum.cit.fop.structure.ClassMetadata.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.2 (16.10.2026)
+ * <br><br>
+ * Index of the type hierarchy of a submission. Every class is mapped to its transitive superclasses and interfaces
+ * and to the members it declares or inherits. The supertypes of a class are resolved from the already resolved
+ * supertypes of its direct supertypes, so a deep hierarchy is walked once per submission and not once per check.
+ * <p></p>
+ * The index exists once per class loader and backend, the reflective index resolves the classes with
+ * {@link ClassMetadata}, the bytecode index reads their class files with {@link ClassFileReader}. Neither index keeps
+ * its class loader reachable: the reflective supertypes of a loaded class are kept by its {@link ClassMetadata}, the
+ * bytecode supertypes do not reference any class.
+ */
+class TypeHierarchy {
+    private static final Map<ClassLoader, TypeHierarchy> REFLECTIVE = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<ClassLoader, TypeHierarchy> BYTECODE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Function<String, TargetClass> resolver;
+    private final Map<String, Supertypes> supertypes = new ConcurrentHashMap<>();
+
+    private TypeHierarchy(Function<String, TargetClass> resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * Returns the index of the classes resolved by reflection with the given class loader.
+     */
+    protected static TypeHierarchy reflective(ClassLoader loader) {
+        return REFLECTIVE.computeIfAbsent(loader, key -> {
+            WeakReference<ClassLoader> reference = new WeakReference<>(key);
+            return new TypeHierarchy(name -> ClassMetadata.forName(name, reference.get()));
+        });
+    }
+
+    /**
+     * Returns the index of the class files found by the given class loader, the classes are never loaded.
+     */
+    protected static TypeHierarchy bytecode(ClassLoader loader) {
+        return BYTECODE.computeIfAbsent(loader, key -> {
+            WeakReference<ClassLoader> reference = new WeakReference<>(key);
+            return new TypeHierarchy(name -> readClassFile(name, reference.get()));
+        });
+    }
+
+    /**
+     * Removes the indexes of the given class loader, so the hierarchy is walked again on the next request. The
+     * reflective supertypes of loaded classes are removed together with their {@link ClassMetadata}, see
+     * {@link ClassMetadata#evict(ClassLoader)}. The indexes are cleared on their own once the class loader is garbage
+     * collected.
+     */
+    protected static void evict(ClassLoader loader) {
+        REFLECTIVE.remove(loader);
+        BYTECODE.remove(loader);
+    }
+
+    private static TargetClass readClassFile(String name, ClassLoader loader) {
+        String classFile = name.replace('.', '/') + ".class";
+        try (InputStream in = loader.getResourceAsStream(classFile)) {
+            return in == null ? null : ClassFileReader.read(in.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the class file " + classFile + ".", e);
+        }
+    }
+
+    /**
+     * Returns the supertypes and the members of the class, the result is cached per class.
+     *
+     * @param name Binary name of the class, e.g. "com.example.Outer$Inner".
+     * @return The supertypes of the class, {@link Supertypes#exists()} returns false if the class could not be found.
+     */
+    protected Supertypes supertypes(String name) {
+        Supertypes resolved = supertypes.get(name);
+        if (resolved != null) {
+            return resolved;
+        }
+        // The direct supertypes are resolved outside the map, the map must not be modified while it is computed.
+        TargetClass target = resolver.apply(name);
+        if (target instanceof ClassMetadata metadata && metadata.exists()) {
+            // The members reference the class, so the supertypes of a loaded class are kept by its metadata.
+            if (metadata.supertypes == null) {
+                metadata.supertypes = resolve(name, metadata);
+            }
+            return metadata.supertypes;
+        }
+        resolved = target == null || !target.exists() ? new Supertypes(name) : resolve(name, target);
+        Supertypes previous = supertypes.putIfAbsent(name, resolved);
+        return previous != null ? previous : resolved;
+    }
+
+    private Supertypes resolve(String name, TargetClass target) {
+        List<String> names = new ArrayList<>();
+        List<String> superclasses = new ArrayList<>();
+        Set<String> interfaces = new LinkedHashSet<>();
+        Set<MemberMetadata> fields = new LinkedHashSet<>(target.fields());
+        Set<MemberMetadata> methods = new LinkedHashSet<>(target.methods());
+        List<String> directSupertypes = target.supertypeNames();
+        for (int i = 0; i < directSupertypes.size(); i++) {
+            Supertypes direct = supertypes(directSupertypes.get(i));
+            // The superclass comes first, interfaces do not have one.
+            if (i == 0 && !target.isInterface()) {
+                superclasses.add(direct.simpleName);
+                superclasses.addAll(direct.superclasses);
+            } else {
+                interfaces.add(direct.simpleName);
+            }
+            interfaces.addAll(direct.interfaces);
+            names.add(direct.name);
+            names.addAll(direct.names);
+            inherit(direct.fields, fields);
+            inherit(direct.methods, methods);
+        }
+        return new Supertypes(name, true, List.copyOf(new LinkedHashSet<>(names)), superclasses,
+                              List.copyOf(interfaces), List.copyOf(fields), List.copyOf(methods));
+    }
+
+    /**
+     * Adds the members of a supertype that are inherited, i.e. not private and not overridden or hidden by a member
+     * with the same name and parameter types that is already in the set.
+     */
+    private static void inherit(List<MemberMetadata> supertypeMembers, Set<MemberMetadata> members) {
+        Set<List<Object>> signatures = new HashSet<>();
+        members.forEach(member -> signatures.add(signature(member)));
+        for (MemberMetadata member : supertypeMembers) {
+            if (!Modifier.isPrivate(member.modifiers) && signatures.add(signature(member))) {
+                members.add(member);
+            }
+        }
+    }
+
+    // Name and erased parameter types of a member, the parameter types of fields are empty.
+    private static List<Object> signature(MemberMetadata member) {
+        return List.of(member.name, member.parameterTypes);
+    }
+
+    /**
+     * Transitive supertypes of a class and the members it declares or inherits.
+     */
+    protected static class Supertypes {
+        final String name;
+        final String simpleName;
+        private final boolean exists;
+        // Binary names of all supertypes.
+        final List<String> names;
+        // Simple names of the superclasses, the direct superclass first.
+        final List<String> superclasses;
+        // Simple names of the implemented or extended interfaces, including the ones of the supertypes.
+        final List<String> interfaces;
+        // Declared members followed by the non-private members of the supertypes that are not overridden or hidden.
+        final List<MemberMetadata> fields;
+        final List<MemberMetadata> methods;
+
+        public Supertypes(String name) {
+            this(name, false, List.of(), List.of(), List.of(), List.of(), List.of());
+        }
+
+        public Supertypes(String name, boolean exists, List<String> names, List<String> superclasses,
+                          List<String> interfaces, List<MemberMetadata> fields, List<MemberMetadata> methods) {
+            this.name = name;
+            this.simpleName = ClassFileReader.simpleName(name);
+            this.exists = exists;
+            this.names = names;
+            this.superclasses = List.copyOf(superclasses);
+            this.interfaces = interfaces;
+            this.fields = fields;
+            this.methods = methods;
+        }
+
+        /**
+         * Returns false if the class could not be found, e.g. a supertype outside the submission that is not
+         * available to the bytecode backend. Its own supertypes are unknown then.
+         */
+        protected boolean exists() {
+            return exists;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package youPackage.structure;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.1 (16.10.2026)
+ * <br><br>
+ * Canonical form of a type used in the structure file and of the type of a target member. Class names are reduced
+ * to their simple names, so "java.util.List&lt;java.lang.String&gt;" and "List&lt;String&gt;" have the same signature.
+ * Signatures are interned, equal signatures are the same object and most comparisons are identity checks.
+ * <p></p>
+ * An expected type matches a target type if both have the same name and array dimensions and either the expected
+ * type has no type arguments, e.g. "List" matches "List&lt;String&gt;", or the type arguments match pairwise. A
+ * malformed type name of the structure file, e.g. an annotated type, gets a signature that matches no type, so only
+ * the check of its member fails.
+ */
+class TypeSignature {
+    private static final Logger LOGGER = Logger.getLogger("structure");
+    private static final Map<TypeSignature, TypeSignature> INTERNED = new ConcurrentHashMap<>();
+    // Signatures of the type names read from the structure files and the class files.
+    private static final Map<String, TypeSignature> PARSED = new ConcurrentHashMap<>();
+    private static final String WILDCARD = "?";
+
+    final String name;
+    final List<TypeSignature> arguments;
+    final int dimensions;
+    // "extends" or "super" for a bounded wildcard, the bound is the only argument.
+    final String boundKind;
+    private final int hash;
+    private TypeSignature erasure;
+
+    private TypeSignature(String name, List<TypeSignature> arguments, int dimensions, String boundKind) {
+        this.name = name;
+        this.arguments = List.copyOf(arguments);
+        this.dimensions = dimensions;
+        this.boundKind = boundKind;
+        this.hash = Objects.hash(name, arguments, dimensions, boundKind);
+    }
+
+    private static TypeSignature intern(String name, List<TypeSignature> arguments, int dimensions,
+                                        String boundKind) {
+        TypeSignature signature = new TypeSignature(name.intern(), arguments, dimensions, boundKind);
+        TypeSignature interned = INTERNED.putIfAbsent(signature, signature);
+        return interned == null ? signature : interned;
+    }
+
+    /**
+     * Returns the signature of a type name as written in the structure file or as returned by
+     * {@code Type.getTypeName()}, e.g. "Map&lt;String, List&lt;Integer&gt;&gt;", "int[]" or "? extends Number".
+     *
+     * @param typeName Type name to parse.
+     * @return Interned signature of the type or null if the type name is null.
+     * @throws IllegalArgumentException thrown if the type name is malformed.
+     */
+    protected static TypeSignature parse(String typeName) {
+        if (typeName == null) {
+            return null;
+        }
+        TypeSignature signature = PARSED.get(typeName);
+        if (signature == null) {
+            Parser parser = new Parser(typeName);
+            signature = parser.readType();
+            if (parser.position != typeName.length()) {
+                throw parser.error();
+            }
+            PARSED.put(typeName, signature);
+        }
+        return signature;
+    }
+
+    /**
+     * Returns the signatures of the given type names.
+     */
+    protected static List<TypeSignature> parse(List<String> typeNames) {
+        List<TypeSignature> signatures = new ArrayList<>(typeNames.size());
+        typeNames.forEach(typeName -> signatures.add(parse(typeName)));
+        return List.copyOf(signatures);
+    }
+
+    /**
+     * Returns the signature of a type name of the structure file. A malformed type name does not fail the whole
+     * structure file, its signature matches no type instead.
+     *
+     * @param typeName Type name of an expected member.
+     * @return Interned signature of the type or null if the type name is null.
+     */
+    protected static TypeSignature parseExpected(String typeName) {
+        try {
+            return parse(typeName);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning(e.getMessage());
+            // The angle brackets cannot be part of a parsed name, so no target type has this name.
+            return intern("<" + typeName + ">", List.of(), 0, null);
+        }
+    }
+
+    /**
+     * Returns the signatures of the given type names of the structure file, see {@link #parseExpected(String)}.
+     */
+    protected static List<TypeSignature> parseExpected(List<String> typeNames) {
+        List<TypeSignature> signatures = new ArrayList<>(typeNames.size());
+        typeNames.forEach(typeName -> signatures.add(parseExpected(typeName)));
+        return List.copyOf(signatures);
+    }
+
+    /**
+     * Returns the signature of a reflected type, the type is converted directly without formatting its name.
+     *
+     * @param type Reflected type, e.g. {@code Field.getGenericType()}.
+     * @return Interned signature of the type or null if the type is null.
+     */
+    protected static TypeSignature of(Type type) {
+        if (type == null) {
+            return null;
+        }
+        if (type instanceof Class<?> cl) {
+            int dimensions = 0;
+            while (cl.isArray()) {
+                cl = cl.getComponentType();
+                dimensions++;
+            }
+            return intern(simpleName(cl.getName()), List.of(), dimensions, null);
+        }
+        if (type instanceof ParameterizedType parameterizedType) {
+            return intern(simpleName(((Class<?>) parameterizedType.getRawType()).getName()),
+                          of(parameterizedType.getActualTypeArguments()), 0, null);
+        }
+        if (type instanceof GenericArrayType arrayType) {
+            TypeSignature component = of(arrayType.getGenericComponentType());
+            return intern(component.name, component.arguments, component.dimensions + 1, component.boundKind);
+        }
+        if (type instanceof WildcardType wildcardType) {
+            if (wildcardType.getLowerBounds().length > 0) {
+                return intern(WILDCARD, of(wildcardType.getLowerBounds()), 0, "super");
+            }
+            Type[] upperBounds = wildcardType.getUpperBounds();
+            return upperBounds.length == 0 || upperBounds[0] == Object.class ? intern(WILDCARD, List.of(), 0, null)
+                                                                              : intern(WILDCARD, of(upperBounds), 0,
+                                                                                       "extends");
+        }
+        if (type instanceof TypeVariable<?> typeVariable) {
+            return intern(typeVariable.getName(), List.of(), 0, null);
+        }
+        return parse(type.getTypeName());
+    }
+
+    /**
+     * Returns the signatures of the given reflected types.
+     */
+    protected static List<TypeSignature> of(Type[] types) {
+        return Arrays.stream(types).map(TypeSignature::of).toList();
+    }
+
+    // Simple name of a class name, the package and the enclosing classes are removed.
+    private static String simpleName(String className) {
+        return className.substring(Math.max(className.lastIndexOf('.'), className.lastIndexOf('$')) + 1);
+    }
+
+    /**
+     * Returns the signature without type arguments, e.g. "List" for "List&lt;String&gt;".
+     */
+    protected TypeSignature erasure() {
+        TypeSignature result = erasure;
+        if (result == null) {
+            result = arguments.isEmpty() || boundKind != null ? this : intern(name, List.of(), dimensions, null);
+            erasure = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if this expected type matches the target type, see the class description.
+     */
+    protected boolean matches(TypeSignature target) {
+        if (this == target || this == target.erasure()) {
+            return true;
+        }
+        // Interned names are compared by identity.
+        if (name != target.name || dimensions != target.dimensions || !Objects.equals(boundKind, target.boundKind) ||
+            arguments.size() != target.arguments.size()) {
+            return false;
+        }
+        for (int i = 0; i < arguments.size(); i++) {
+            if (!arguments.get(i).matches(target.arguments.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TypeSignature other)) {
+            return false;
+        }
+        return hash == other.hash && dimensions == other.dimensions && name.equals(other.name) &&
+               Objects.equals(boundKind, other.boundKind) && arguments.equals(other.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(name);
+        if (boundKind != null) {
+            builder.append(' ').append(boundKind).append(' ').append(arguments.get(0));
+        } else if (!arguments.isEmpty()) {
+            builder.append('<');
+            for (int i = 0; i < arguments.size(); i++) {
+                builder.append(i == 0 ? "" : ", ").append(arguments.get(i));
+            }
+            builder.append('>');
+        }
+        builder.append("[]".repeat(dimensions));
+        return builder.toString();
+    }
+
+    /**
+     * Parser of type names, whitespace between the tokens is ignored and varargs ("...") count as an array
+     * dimension.
+     */
+    private static class Parser {
+        private final String typeName;
+        private int position;
+
+        Parser(String typeName) {
+            this.typeName = typeName;
+        }
+
+        TypeSignature readType() {
+            skipWhitespace();
+            if (nextIf("?")) {
+                skipWhitespace();
+                for (String boundKind : List.of("extends", "super")) {
+                    if (nextIf(boundKind)) {
+                        return intern(WILDCARD, List.of(readType()), 0, boundKind);
+                    }
+                }
+                return intern(WILDCARD, List.of(), 0, null);
+            }
+
+            String name = readName();
+            List<TypeSignature> arguments = List.of();
+            while (true) {
+                skipWhitespace();
+                if (nextIf("<")) {
+                    arguments = new ArrayList<>();
+                    do {
+                        arguments.add(readType());
+                        skipWhitespace();
+                    } while (nextIf(","));
+                    expect(">");
+                } else if (!typeName.startsWith("...", position) && (nextIf(".") || nextIf("$"))) {
+                    // Member class of a parameterized class, e.g. "Outer<T>.Inner", only the member class counts.
+                    name = readName();
+                    arguments = List.of();
+                } else {
+                    break;
+                }
+            }
+            int dimensions = 0;
+            while (true) {
+                skipWhitespace();
+                if (nextIf("[")) {
+                    skipWhitespace();
+                    expect("]");
+                } else if (!nextIf("...")) {
+                    break;
+                }
+                dimensions++;
+            }
+            return intern(name, arguments, dimensions, null);
+        }
+
+        // Reads a possibly qualified name and returns its simple name.
+        private String readName() {
+            skipWhitespace();
+            int start = position;
+            while (position < typeName.length() &&
+                   (Character.isJavaIdentifierPart(typeName.charAt(position)) ||
+                    typeName.charAt(position) == '.' && !typeName.startsWith("...", position))) {
+                position++;
+            }
+            if (start == position) {
+                throw error();
+            }
+            return simpleName(typeName.substring(start, position));
+        }
+
+        private boolean nextIf(String token) {
+            if (typeName.startsWith(token, position)) {
+                position += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String token) {
+            if (!nextIf(token)) {
+                throw error();
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < typeName.length() && Character.isWhitespace(typeName.charAt(position))) {
+                position++;
+            }
+        }
+
+        IllegalArgumentException error() {
+            return new IllegalArgumentException("Invalid type name \"" + typeName + "\" at position " + position +
+                                                ".");
+        }
+    }
+}
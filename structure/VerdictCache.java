@@ -0,0 +1,239 @@
+package youPackage.structure;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static de.tum.cit.fop.structure.StructureParser.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.5 (16.10.2026)
+ * <br><br>
+ * On-disk cache of the reports of verified classes. A report is stored under the hash of the expected class from the
+ * structure file combined with the hash of the class file of the submission and the name of the verification backend,
+ * so a resubmission only verifies the classes whose class file or expected structure changed. Classes with the
+ * "inherited" mode also depend on their supertypes, the class files of the supertypes from the submission are part of
+ * their key. The hashes of the expected classes are kept only as long as their structure file is in use, e.g. until
+ * the grading daemon reloads a changed structure file.
+ * <p></p>
+ * The cache is enabled by the "structure.verdictCache" system property, which holds the cache directory. The size of
+ * the directory is bounded by the "structure.verdictCache.maxBytes" system property (64 MiB by default), the least
+ * recently used reports are removed first.
+ */
+class VerdictCache {
+    private static final Logger LOGGER = Logger.getLogger("structure");
+    private static final String VERDICT_SUFFIX = ".verdict.json";
+    // Part of every key, increase it if the verification changes the reports for the same input.
+    private static final int VERSION = 4;
+    private static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final AtomicLong size = new AtomicLong();
+    // Hashes of the expected classes, the entries are removed once the classes of a replaced structure file are
+    // unreachable.
+    private final Map<JSONClass, byte[]> entryHashes = Collections.synchronizedMap(new WeakHashMap<>());
+
+    protected VerdictCache(Path directory, long maxBytes) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+        size.set(verdictFiles().stream().mapToLong(VerdictCache::sizeOf).sum());
+    }
+
+    /**
+     * Creates the cache configured by the system properties.
+     *
+     * @return The cache or null if it is not enabled or the cache directory could not be created.
+     */
+    protected static VerdictCache fromSystemProperties() {
+        String directory = System.getProperty("structure.verdictCache");
+        if (directory == null) {
+            return null;
+        }
+        try {
+            return new VerdictCache(Path.of(directory),
+                                    Long.getLong("structure.verdictCache.maxBytes", DEFAULT_MAX_BYTES));
+        } catch (IOException e) {
+            LOGGER.warning("Could not create the verdict cache in " + directory + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the cached report of the expected class if the class file of the submission did not change, otherwise
+     * verifies the class with the given verifier and caches the report.
+     *
+     * @param cl       Expected class from the structure file.
+     * @param loader   Class loader of the submission, used to locate the class file.
+     * @param backend  Name of the verification backend, e.g. "reflection" or "bytecode". The backends may report the
+     *                 same class differently, so their reports are cached separately.
+     * @param verifier Verification backend that is used if there is no cached report.
+     * @return Report with every mismatch between the expected and the target class.
+     */
+    protected StructureReport verify(JSONClass cl, ClassLoader loader, String backend,
+                                     BiFunction<JSONClass, ClassLoader, StructureReport> verifier) {
+        byte[] classFile = readClassFile(cl.packageName + "." + cl.name, loader);
+        // Missing classes are cheap to verify and not cached.
+        if (classFile == null) {
+            return verifier.apply(cl, loader);
+        }
+
+        Path verdictFile = directory.resolve(key(cl, classFile, loader, backend) + VERDICT_SUFFIX);
+        StructureReport report = read(verdictFile);
+        if (report == null) {
+            report = verifier.apply(cl, loader);
+            write(verdictFile, report);
+        }
+        return report;
+    }
+
+    private String key(JSONClass cl, byte[] classFile, ClassLoader loader, String backend) {
+        MessageDigest digest = StructureSpecCache.newDigest();
+        digest.update((byte) VERSION);
+        digest.update(backend.getBytes(StandardCharsets.UTF_8));
+        digest.update(entryHashes.computeIfAbsent(cl, StructureSpecCache::hash));
+        digest.update(classFile);
+        if (cl.inherited) {
+            for (String supertype : TypeHierarchy.bytecode(loader).supertypes(cl.packageName + "." + cl.name).names) {
+                digest.update(supertype.getBytes(StandardCharsets.UTF_8));
+                // Classes of the platform are the same for every submission.
+                if (ClassLoader.getPlatformClassLoader().getResource(supertype.replace('.', '/') + ".class") == null) {
+                    byte[] supertypeFile = readClassFile(supertype, loader);
+                    if (supertypeFile != null) {
+                        digest.update(supertypeFile);
+                    }
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static byte[] readClassFile(String className, ClassLoader loader) {
+        String classFile = className.replace('.', '/') + ".class";
+        try (InputStream in = loader.getResourceAsStream(classFile)) {
+            return in == null ? null : in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the class file " + classFile + ".", e);
+        }
+    }
+
+    /**
+     * Reads the cached report and marks it as recently used.
+     *
+     * @return The cached report or null if there is none or it could not be read.
+     */
+    private StructureReport read(Path verdictFile) {
+        try {
+            StructureReport report = StructureReport.fromJSON(
+                    new JSONObject(Files.readString(verdictFile, StandardCharsets.UTF_8)));
+            Files.setLastModifiedTime(verdictFile, FileTime.fromMillis(System.currentTimeMillis()));
+            return report;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | JSONException | IllegalArgumentException e) {
+            LOGGER.warning("Ignoring the unreadable verdict " + verdictFile + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the report atomically, so concurrent runs never read a partially written report. A failure only disables
+     * the caching of this report.
+     */
+    private void write(Path verdictFile, StructureReport report) {
+        byte[] content = report.toJSON().toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            Path tempFile = Files.createTempFile(directory, verdictFile.getFileName().toString(), ".tmp");
+            try {
+                Files.write(tempFile, content);
+                Files.move(tempFile, verdictFile, StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            LOGGER.warning("Could not write the verdict " + verdictFile + ": " + e.getMessage());
+            return;
+        }
+        if (size.addAndGet(content.length) > maxBytes) {
+            evict();
+        }
+    }
+
+    /**
+     * Removes the least recently used reports until the cache takes up at most three quarters of its maximum size, so
+     * the eviction does not run on every write.
+     */
+    private synchronized void evict() {
+        List<Path> files = verdictFiles();
+        long currentSize = files.stream().mapToLong(VerdictCache::sizeOf).sum();
+        // The times are read once, a concurrent run may touch the files during the sort.
+        Map<Path, FileTime> lastModified = new HashMap<>();
+        files.forEach(file -> lastModified.put(file, lastModified(file)));
+        files.sort(Comparator.comparing(lastModified::get));
+        for (Path file : files) {
+            if (currentSize <= maxBytes / 4 * 3) {
+                break;
+            }
+            long fileSize = sizeOf(file);
+            try {
+                if (Files.deleteIfExists(file)) {
+                    currentSize -= fileSize;
+                }
+            } catch (IOException e) {
+                LOGGER.warning("Could not remove the verdict " + file + ": " + e.getMessage());
+            }
+        }
+        size.set(currentSize);
+    }
+
+    private List<Path> verdictFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files.filter(file -> file.getFileName().toString().endsWith(VERDICT_SUFFIX))
+                                        .toList());
+        } catch (IOException e) {
+            LOGGER.warning("Could not list the verdict cache " + directory + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    // Files removed by a concurrent run count as empty and as the least recently used.
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package youPackage.structure;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.0 (16.10.2026)
+ * <br><br>
+ * Verifies the constructor inference of {@link ConstructorResolver}: the ranking of exact, widening, boxing and
+ * subtype conversions, the handling of null arguments and the explicit parameter types of the getter/setter tests.
+ * Every fixture records the parameter list of the constructor that was called.
+ */
+class ConstructorResolverTest {
+    @SuppressWarnings("unused")
+    static class Widening {
+        final String chosen;
+
+        Widening(Object value) {
+            chosen = "Object";
+        }
+
+        Widening(long value) {
+            chosen = "long";
+        }
+
+        Widening(float value) {
+            chosen = "float";
+        }
+
+        Widening(Number value) {
+            chosen = "Number";
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class WrapperFirst {
+        final String chosen;
+
+        WrapperFirst(Integer value) {
+            chosen = "Integer";
+        }
+
+        WrapperFirst(int value) {
+            chosen = "int";
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class PrimitiveFirst {
+        final String chosen;
+
+        PrimitiveFirst(int value) {
+            chosen = "int";
+        }
+
+        PrimitiveFirst(Integer value) {
+            chosen = "Integer";
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class References {
+        final String chosen;
+
+        References(Object value) {
+            chosen = "Object";
+        }
+
+        References(String value) {
+            chosen = "String";
+        }
+
+        References(int value) {
+            chosen = "int";
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class PrimitiveOnly {
+        PrimitiveOnly(int value) {
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class Failing {
+        Failing(String message) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    public static class Account {
+        private final long balance;
+
+        Account(long balance) {
+            this.balance = balance;
+        }
+
+        public long getBalance() {
+            return balance;
+        }
+    }
+
+    @Test
+    void wideningIsPreferredOverSubtype() throws Exception {
+        assertEquals("long", chosen(Widening.class, 42));
+        assertEquals("long", chosen(Widening.class, (short) 42));
+        assertEquals("float", chosen(Widening.class, 4.2f));
+        // No primitive parameter takes a double, Number is more specific than Object.
+        assertEquals("Number", chosen(Widening.class, 4.2));
+        assertEquals("Object", chosen(Widening.class, "text"));
+    }
+
+    @Test
+    void primitiveIsPreferredOverItsWrapper() throws Exception {
+        assertEquals("int", chosen(WrapperFirst.class, 42));
+        assertEquals("int", chosen(PrimitiveFirst.class, 42));
+    }
+
+    @Test
+    void nullArgumentsOnlyFitReferenceTypes() throws Exception {
+        assertEquals("String", chosen(References.class, (Object) null));
+        assertEquals("int", chosen(References.class, 42));
+        assertThrows(NoSuchElementException.class,
+                     () -> ConstructorResolver.newInstance(ClassMetadata.of(PrimitiveOnly.class),
+                                                           Arrays.asList((Object) null)));
+    }
+
+    @Test
+    void explicitParameterTypesMustFitTheArguments() throws Exception {
+        ClassMetadata references = ClassMetadata.of(References.class);
+        assertEquals("Object", ((References) ConstructorResolver.newInstance(references, List.of("text"),
+                                                                            new Class<?>[]{Object.class})).chosen);
+        // Boxed arguments are passed to the primitive parameter.
+        assertEquals("int", ((References) ConstructorResolver.newInstance(references, List.of(42),
+                                                                         new Class<?>[]{int.class})).chosen);
+        assertThrows(IllegalArgumentException.class,
+                     () -> ConstructorResolver.newInstance(references, List.of("text"), new Class<?>[]{int.class}));
+        assertThrows(IllegalArgumentException.class,
+                     () -> ConstructorResolver.newInstance(references, List.of(), new Class<?>[]{String.class}));
+        assertThrows(NoSuchElementException.class,
+                     () -> ConstructorResolver.newInstance(references, List.of(42L), new Class<?>[]{long.class}));
+    }
+
+    @Test
+    void constructorExceptionIsTheCause() {
+        InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> ConstructorResolver
+                .newInstance(ClassMetadata.of(Failing.class), List.of("boom")));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals("boom", e.getCause().getMessage());
+    }
+
+    @Test
+    void getterTestsInferTheConstructorWithoutParameterTypes() throws Throwable {
+        List<DynamicTest> tests = GetterSetterTestAssembler.generateGetterTests(Account.class.getName(), List.of(42),
+                                                                                null,
+                                                                                Map.of("getBalance", 42L));
+        assertEquals(1, tests.size());
+        assertEquals("GetterTest[" + Account.class.getName() + "|getBalance]", tests.get(0).getDisplayName());
+        tests.get(0).getExecutable().execute();
+    }
+
+    private static String chosen(Class<?> type, Object argument) throws Exception {
+        Object instance = ConstructorResolver.newInstance(ClassMetadata.of(type), Arrays.asList(argument));
+        return (String) type.getDeclaredField("chosen").get(instance);
+    }
+}
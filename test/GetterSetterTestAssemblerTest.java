@@ -0,0 +1,68 @@
+package youPackage.structure;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static de.tum.cit.fop.structure.StructureParser.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.0 (16.10.2026)
+ * <br><br>
+ * Verifies the getter and setter tests that {@link GetterSetterTestAssembler} derives from the attributes and methods
+ * of an expected class.
+ */
+class GetterSetterTestAssemblerTest {
+    public static class Account {
+        private int balance;
+
+        public int getBalance() {
+            return balance;
+        }
+
+        public void setBalance(int balance) {
+            this.balance = balance;
+        }
+    }
+
+    @Test
+    void accessorsAreDerivedFromNamedMembers() throws Throwable {
+        List<DynamicTest> tests = GetterSetterTestAssembler.generateAccessorTests(expectedAccount("""
+                "attributes" : [ { "name" : "balance", "type" : "int" } ],
+                "methods" : [ { "name" : "getBalance", "returnType" : "int", "parameters" : [ ] },
+                              { "name" : "setBalance", "returnType" : "void", "parameters" : [ "int" ] } ]
+                """));
+        assertEquals(List.of("GetterTest[" + Account.class.getName() + "|getBalance]",
+                             "SetterTest[" + Account.class.getName() + "|setBalance]"),
+                     tests.stream().map(DynamicTest::getDisplayName).toList());
+        for (DynamicTest test : tests) {
+            test.getExecutable().execute();
+        }
+    }
+
+    @Test
+    void membersWithoutNameAreSkipped() {
+        List<DynamicTest> tests = GetterSetterTestAssembler.generateAccessorTests(expectedAccount("""
+                "attributes" : [ { "type" : "int" }, { "name" : "", "type" : "int" },
+                                 { "name" : "balance", "type" : "int" } ],
+                "methods" : [ { "returnType" : "int", "parameters" : [ ] },
+                              { "name" : "getBalance", "returnType" : "int", "parameters" : [ ] } ]
+                """));
+        assertEquals(List.of("GetterTest[" + Account.class.getName() + "|getBalance]"),
+                     tests.stream().map(DynamicTest::getDisplayName).toList());
+    }
+
+    private static JSONClass expectedAccount(String members) {
+        try {
+            return parseStructure("[ { \"class\" : { \"name\" : \"" +
+                                  GetterSetterTestAssemblerTest.class.getSimpleName() + "$Account\", " +
+                                  "\"package\" : \"" + GetterSetterTestAssemblerTest.class.getPackageName() +
+                                  "\" }, " + members + " } ]").get(0);
+        } catch (ClassNotFoundException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
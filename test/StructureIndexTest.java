@@ -0,0 +1,142 @@
+package youPackage.structure;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static de.tum.cit.fop.structure.StructureParser.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.1 (16.10.2026)
+ * <br><br>
+ * Compares the class entries found by the scanner of {@link StructureIndex} with the entries of
+ * {@link StructureParser}: the package and the name of every entry and the class read from the bytes between the
+ * boundaries of the entry. Run from the repository root, the example structure file is read from there.
+ */
+class StructureIndexTest {
+    private Path jsonFile;
+
+    @BeforeEach
+    void createFile() throws IOException {
+        jsonFile = Files.createTempFile("structure", ".json");
+    }
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(jsonFile);
+        Files.deleteIfExists(StructureSpecCache.cacheFileFor(jsonFile));
+    }
+
+    @Test
+    void exampleEntriesMatchParser() throws Exception {
+        assertEntriesMatchParser(Files.readString(Path.of("test-example.json"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void escapedStringsAreDecoded() throws Exception {
+        String json = """
+                [ {
+                  "attributes" : [ { "name" : "quote\\"}]", "type" : "String" } ],
+                  "class" : { "name" : "Caf\\u00e9", "package" : "com.example\\\\escaped", "superclass" : "\\"Base\\"" }
+                }, {
+                  "class" : { "package" : "com.example", "name" : "Tab\\tName" },
+                  "methods" : [ { "name" : "text\\\\", "returnType" : "String", "parameters" : [ "String" ] } ]
+                } ]
+                """;
+        List<StructureIndex.Entry> entries = assertEntriesMatchParser(json);
+        assertEquals("Café", entries.get(0).name);
+        assertEquals("com.example\\escaped", entries.get(0).packageName);
+        assertEquals("Tab\tName", entries.get(1).name);
+    }
+
+    @Test
+    void unicodeAndNestedValuesAreSkipped() throws Exception {
+        String json = """
+                [{"skip":true,"enumValues":["ÄRGER","{[","]}"],"count":-1.5e3,"none":null,
+                  "extra":[["nested",{"class":{"name":"Wrong","package":"wrong"}}],"\\\\"],
+                  "methods":[{"name":"größe","returnType":"int","parameters":[]}],
+                  "class":{"isEnum":false,"annotations":[],"name":"Größe","package":"pkg.ünicode"}},
+                 {"class":{"name":"Last","package":"pkg"}}]
+                """;
+        List<StructureIndex.Entry> entries = assertEntriesMatchParser(json);
+        assertEquals("Größe", entries.get(0).name);
+        assertEquals("pkg.ünicode", entries.get(0).packageName);
+    }
+
+    @Test
+    void entriesAcrossReadBuffersMatchParser() throws Exception {
+        // The scanner reads the file in blocks of 8 KiB, the entries and their strings cross the block boundaries.
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 300; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"methods\":[{\"name\":\"m").append("x".repeat(i % 37))
+                .append("\",\"returnType\":\"void\",\"parameters\":[]}],\"class\":{\"name\":\"C\\u00e9").append(i)
+                .append("\",\"package\":\"pkg.p").append("\\\"".repeat(i % 5)).append("\"}}");
+        }
+        List<StructureIndex.Entry> entries = assertEntriesMatchParser(json.append("]").toString());
+        assertEquals("Cé299", entries.get(299).name);
+        assertEquals("pkg.p\"\"\"\"", entries.get(299).packageName);
+    }
+
+    @Test
+    void entriesAreReadFromTheFileWhenRequested() throws Exception {
+        StructureIndex index = index("[{\"class\":{\"name\":\"A\",\"package\":\"p\"}}]");
+        StructureIndex.Entry entry = index.entries().get(0);
+        Files.delete(jsonFile);
+        // The index keeps the offsets of the entries, not the content of the file.
+        assertThrows(ClassNotFoundException.class, entry::get);
+    }
+
+    @Test
+    void emptyArrayHasNoEntries() throws Exception {
+        assertTrue(index(" [ ] ").entries().isEmpty());
+    }
+
+    @Test
+    void entryWithoutClassObjectFailsOnRead() throws Exception {
+        StructureIndex.Entry entry = index("[{\"methods\":[]}]").entries().get(0);
+        assertNull(entry.name);
+        assertThrows(ClassNotFoundException.class, entry::get);
+        assertThrows(ClassNotFoundException.class, () -> parseStructure("[{\"methods\":[]}]"));
+    }
+
+    @Test
+    void malformedFilesAreRejected() throws IOException {
+        List<String> malformed = List.of("", "{\"class\":{}}", "[1]", "[{\"class\":{\"name\":\"A\"}}",
+                                         "[{\"class\":{\"name\":\"A}}]", "[{\"class\" {\"name\":\"A\"}}]",
+                                         "[{\"class\":{\"name\":\"A\"}},]", "[{\"class\":{\"name\":\"A\\\"}}]");
+        for (String json : malformed) {
+            Files.writeString(jsonFile, json, StandardCharsets.UTF_8);
+            ClassNotFoundException e = assertThrows(ClassNotFoundException.class,
+                                                    () -> StructureIndex.load(jsonFile, null), json);
+            assertTrue(e.getMessage().contains("of the structure file"), e.getMessage());
+        }
+    }
+
+    private StructureIndex index(String json) throws IOException, ClassNotFoundException {
+        Files.writeString(jsonFile, json, StandardCharsets.UTF_8);
+        return StructureIndex.load(jsonFile, null);
+    }
+
+    // Verifies the scanned entries against the parsed classes, the scanner and the parser read the same file.
+    private List<StructureIndex.Entry> assertEntriesMatchParser(String json) throws Exception {
+        List<JSONClass> expected = parseStructure(json);
+        List<StructureIndex.Entry> entries = index(json).entries();
+        assertEquals(expected.size(), entries.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).packageName, entries.get(i).packageName);
+            assertEquals(expected.get(i).name, entries.get(i).name);
+            // The class read from the boundaries of the entry equals the class of the parser.
+            assertArrayEquals(StructureSpecCache.hash(expected.get(i)), StructureSpecCache.hash(entries.get(i).get()),
+                              expected.get(i).name);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,102 @@
+package youPackage.structure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static de.tum.cit.fop.structure.StructureParser.*;
+import static de.tum.cit.fop.structure.StructureReport.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.1 (16.10.2026)
+ * <br><br>
+ * Verifies the "inherited" mode of {@link StructureVerifier} with both backends: members of the supertypes are
+ * accepted, but overridden members and the members of java.lang.Object must not hide a missing expected member.
+ */
+class StructureVerifierTest {
+    @SuppressWarnings("unused")
+    static class Base {
+        protected int count;
+
+        public void foo() {
+        }
+    }
+
+    static class Child extends Base {
+        @Override
+        public String toString() {
+            return "child";
+        }
+    }
+
+    static class Standalone {
+        @Override
+        public String toString() {
+            return "standalone";
+        }
+    }
+
+    @Test
+    void inheritedMembersAreFound() throws Exception {
+        assertMismatches(List.of(), "Child", true, """
+                "attributes" : [ { "name" : "count", "type" : "int" } ],
+                "methods" : [ { "name" : "toString", "returnType" : "String", "parameters" : [ ] },
+                              { "name" : "foo", "returnType" : "void", "parameters" : [ ] },
+                              { "name" : "equals", "returnType" : "boolean", "parameters" : [ "Object" ] } ]
+                """);
+    }
+
+    @Test
+    void overriddenAndObjectMembersDoNotHideMissingMembers() throws Exception {
+        // Standalone overrides toString(), its own and the one of Object must not count for the missing foo().
+        String members = """
+                "methods" : [ { "name" : "toString", "returnType" : "String", "parameters" : [ ] },
+                              { "name" : "foo", "returnType" : "void", "parameters" : [ ] } ]
+                """;
+        assertMismatches(List.of("foo"), "Standalone", true, members);
+        assertMismatches(List.of("foo"), "Standalone", false, members);
+        assertMismatches(List.of("count"), "Standalone", true, """
+                "attributes" : [ { "name" : "count", "type" : "int" } ],
+                "methods" : [ { "name" : "equals", "returnType" : "boolean", "parameters" : [ "Object" ] } ]
+                """);
+    }
+
+    @Test
+    void declaredModeRejectsInheritedMembers() throws Exception {
+        assertMismatches(List.of("count", "foo"), "Child", false, """
+                "attributes" : [ { "name" : "count", "type" : "int" } ],
+                "methods" : [ { "name" : "toString", "returnType" : "String", "parameters" : [ ] },
+                              { "name" : "foo", "returnType" : "void", "parameters" : [ ] } ]
+                """);
+    }
+
+    @Test
+    void malformedTypeOnlyFailsItsMember() throws Exception {
+        assertMismatches(List.of("count", "foo"), "Child", true, """
+                "attributes" : [ { "name" : "count", "type" : "@NonNull int" } ],
+                "methods" : [ { "name" : "toString", "returnType" : "String", "parameters" : [ ] },
+                              { "name" : "foo", "returnType" : "", "parameters" : [ ] } ]
+                """);
+    }
+
+    // Verifies the fixture with both backends, every mismatch has to name one of the missing members.
+    private static void assertMismatches(List<String> missing, String fixture, boolean inherited, String members)
+            throws Exception {
+        JSONClass cl = parseStructure("[ { \"class\" : { \"name\" : \"" + StructureVerifierTest.class.getSimpleName() +
+                                      "$" + fixture + "\", \"package\" : \"" +
+                                      StructureVerifierTest.class.getPackageName() + "\", \"inherited\" : " +
+                                      inherited + " }, " + members + " } ]").get(0);
+        ClassLoader loader = StructureVerifierTest.class.getClassLoader();
+        for (StructureReport report : List.of(StructureVerifier.verify(cl, loader),
+                                              BytecodeStructureVerifier.verify(cl, loader))) {
+            assertTrue(report.found, report.className);
+            List<String> messages = report.mismatches.stream().map(mismatch -> mismatch.message).toList();
+            assertEquals(missing.size(), messages.size(), messages.toString());
+            for (int i = 0; i < missing.size(); i++) {
+                assertTrue(messages.get(i).contains("Name: " + missing.get(i)), messages.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package youPackage.structure;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ivan Parmacli (ivan.parmacli@proton.me)
+ * @version 1.1 (16.10.2026)
+ * <br><br>
+ * Verifies the parsing of type names and the structural matching of {@link TypeSignature} against the signatures of
+ * reflected types, which are the target types of the structure checks.
+ */
+class TypeSignatureTest {
+    // Target types of the checks, the signatures are read from the declared fields and methods.
+    @SuppressWarnings({"unused", "rawtypes"})
+    private static class Target<T extends Comparable<T>> {
+        Map<String, List<Integer>> nested;
+        Map<String, List<Long>> otherNested;
+        List<? extends Number> extendsNumber;
+        List<? super Integer> superInteger;
+        List<?> unbounded;
+        List<String>[] genericArray;
+        int[][] matrix;
+        List raw;
+        List<String> strings;
+        Outer<String>.Inner inner;
+        T variable;
+
+        void varargs(String... values) {
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Outer<T> {
+        class Inner {
+        }
+    }
+
+    @Test
+    void qualifiedAndSimpleNamesAreTheSameSignature() {
+        assertSame(TypeSignature.parse("List<String>"), TypeSignature.parse("java.util.List<java.lang.String>"));
+        assertSame(TypeSignature.parse("Map<String,List<Integer>>"),
+                   TypeSignature.parse(" Map < String , List<Integer> > "));
+        assertEquals("Map<String, List<Integer>>", TypeSignature.parse("Map<String,List<Integer>>").toString());
+    }
+
+    @Test
+    void nestedGenericsMatchPairwise() throws Exception {
+        assertTrue(TypeSignature.parse("Map<String, List<Integer>>").matches(field("nested")));
+        assertFalse(TypeSignature.parse("Map<String, List<Integer>>").matches(field("otherNested")));
+        assertFalse(TypeSignature.parse("Map<List<Integer>, String>").matches(field("nested")));
+        // Type arguments without arguments match any parameterization, also when nested.
+        assertTrue(TypeSignature.parse("Map<String, List>").matches(field("nested")));
+        assertTrue(TypeSignature.parse("Map").matches(field("otherNested")));
+    }
+
+    @Test
+    void wildcardsMatchTheirBound() throws Exception {
+        assertSame(field("extendsNumber"), TypeSignature.parse("List<? extends Number>"));
+        assertTrue(TypeSignature.parse("List<? extends java.lang.Number>").matches(field("extendsNumber")));
+        assertTrue(TypeSignature.parse("List<? super Integer>").matches(field("superInteger")));
+        assertTrue(TypeSignature.parse("List<?>").matches(field("unbounded")));
+        // The bound kind and the bound have to match.
+        assertFalse(TypeSignature.parse("List<? super Number>").matches(field("extendsNumber")));
+        assertFalse(TypeSignature.parse("List<? extends Integer>").matches(field("superInteger")));
+        assertFalse(TypeSignature.parse("List<?>").matches(field("extendsNumber")));
+        assertFalse(TypeSignature.parse("List<Number>").matches(field("extendsNumber")));
+    }
+
+    @Test
+    void arraysAndVarargsCountDimensions() throws Exception {
+        assertSame(TypeSignature.parse("String[]"), TypeSignature.parse("String..."));
+        assertSame(TypeSignature.parse("int[][]"), TypeSignature.parse("int[] []"));
+        assertTrue(TypeSignature.parse("int[][]").matches(field("matrix")));
+        assertFalse(TypeSignature.parse("int[]").matches(field("matrix")));
+        assertTrue(TypeSignature.parse("List<String>[]").matches(field("genericArray")));
+        assertTrue(TypeSignature.parse("List[]").matches(field("genericArray")));
+        assertFalse(TypeSignature.parse("List<String>").matches(field("genericArray")));
+
+        Type varargs = Target.class.getDeclaredMethod("varargs", String[].class).getGenericParameterTypes()[0];
+        assertTrue(TypeSignature.parse("String...").matches(TypeSignature.of(varargs)));
+        assertTrue(TypeSignature.parse("java.lang.String[]").matches(TypeSignature.of(varargs)));
+    }
+
+    @Test
+    void memberClassesOfParameterizedClassesUseTheirSimpleName() throws Exception {
+        assertSame(TypeSignature.parse("Inner"), TypeSignature.parse("Outer<T>.Inner"));
+        assertSame(TypeSignature.parse("Inner"), TypeSignature.parse("com.example.Outer$Inner"));
+        assertTrue(TypeSignature.parse("Outer<String>.Inner").matches(field("inner")));
+        assertTrue(TypeSignature.parse("Inner").matches(field("inner")));
+        assertFalse(TypeSignature.parse("Outer").matches(field("inner")));
+    }
+
+    @Test
+    void rawExpectedTypeMatchesAnyParameterization() throws Exception {
+        assertTrue(TypeSignature.parse("List").matches(field("strings")));
+        assertTrue(TypeSignature.parse("List").matches(field("raw")));
+        assertTrue(TypeSignature.parse("List").matches(field("unbounded")));
+        assertSame(TypeSignature.parse("List"), field("strings").erasure());
+    }
+
+    @Test
+    void parameterizedExpectedTypeDoesNotMatchRawTarget() throws Exception {
+        assertFalse(TypeSignature.parse("List<String>").matches(field("raw")));
+        assertFalse(TypeSignature.parse("List<Integer>").matches(field("strings")));
+        assertTrue(TypeSignature.parse("List<String>").matches(field("strings")));
+    }
+
+    @Test
+    void typeVariablesUseTheirName() throws Exception {
+        assertSame(TypeSignature.parse("T"), field("variable"));
+        assertFalse(TypeSignature.parse("Comparable").matches(field("variable")));
+        assertFalse(TypeSignature.parse("Serializable").matches(TypeSignature.of(String.class)));
+        assertSame(TypeSignature.parse(Serializable.class.getName()), TypeSignature.of(Serializable.class));
+    }
+
+    @Test
+    void malformedTypeNamesAreRejected() {
+        for (String typeName : List.of("List<String", "List<>", "Map<String,>", "int[", "? extends", "", "List>")) {
+            assertThrows(IllegalArgumentException.class, () -> TypeSignature.parse(typeName), typeName);
+        }
+        assertNull(TypeSignature.parse((String) null));
+    }
+
+    @Test
+    void malformedExpectedTypeNamesMatchNoType() throws Exception {
+        for (String typeName : List.of("", "@NonNull String", "List<String", "Map<String,>")) {
+            TypeSignature expected = TypeSignature.parseExpected(typeName);
+            assertFalse(expected.matches(TypeSignature.of(String.class)), typeName);
+            assertFalse(expected.matches(field("strings")), typeName);
+            assertFalse(expected.matches(field("raw").erasure()), typeName);
+            // The strict parsing still rejects the type name.
+            assertThrows(IllegalArgumentException.class, () -> TypeSignature.parse(typeName), typeName);
+        }
+        assertSame(TypeSignature.parse("List<String>"), TypeSignature.parseExpected("List<String>"));
+    }
+
+    private static TypeSignature field(String name) throws NoSuchFieldException {
+        return TypeSignature.of(Target.class.getDeclaredField(name).getGenericType());
+    }
+}